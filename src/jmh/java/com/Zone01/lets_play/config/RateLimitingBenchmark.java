@@ -0,0 +1,64 @@
+package com.Zone01.lets_play.config;
+
+import io.github.bucket4j.Bucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitingInterceptor.resolveBucket from 8 threads at once. With {@code clients=1} every
+ * thread hits the same bucket (one hot address behind a proxy); with more clients the
+ * lookups spread over the store. {@code consume} adds the tryConsume each request makes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimitingBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    int clients;
+
+    private RateLimitingInterceptor interceptor;
+    private String[] addresses;
+
+    @Setup
+    public void setUp() {
+        interceptor = new RateLimitingInterceptor(100_000, Duration.ofMinutes(10));
+        addresses = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            addresses[i] = "10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff);
+            interceptor.resolveBucket(addresses[i]);
+        }
+    }
+
+    private String nextAddress() {
+        return addresses[ThreadLocalRandom.current().nextInt(addresses.length)];
+    }
+
+    @Benchmark
+    public Bucket resolveBucket() {
+        return interceptor.resolveBucket(nextAddress());
+    }
+
+    @Benchmark
+    public boolean resolveAndConsume() {
+        return interceptor.resolveBucket(nextAddress()).tryConsume(1);
+    }
+}
@@ -0,0 +1,55 @@
+package com.Zone01.lets_play.dto;
+
+import com.Zone01.lets_play.dto.ProductDtos.ProductResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a product listing, with an ObjectMapper configured the way
+ * Spring Boot configures the one behind the REST controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    @Param({"20", "1000"})
+    int size;
+
+    private ObjectWriter writer;
+    private List<ProductResponse> products;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(new TypeReference<List<ProductResponse>>() { });
+        products = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            products.add(new ProductResponse(String.format("%024x", i), "Product " + i,
+                    "Description of product " + i, 1 + i % 500, "owner" + i % 50 + "@example.com", "Owner " + i % 50));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeList() throws Exception {
+        return writer.writeValueAsBytes(products);
+    }
+}
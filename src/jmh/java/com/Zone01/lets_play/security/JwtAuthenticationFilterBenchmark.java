@@ -0,0 +1,71 @@
+package com.Zone01.lets_play.security;
+
+import com.Zone01.lets_play.models.User;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtAuthenticationFilter: a valid bearer token (verified-cache hit),
+ * a tampered one (rejected and logged), and an anonymous request without a header.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    @Param({"valid", "tampered", "anonymous"})
+    String authorization;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(10_000, Duration.ofMinutes(15));
+        User user = new User();
+        user.setId("64b7f0c2a1b2c3d4e5f60718");
+        user.setEmail("bench@example.com");
+        user.setRole("USER");
+        String token = jwtService.generateToken(user);
+
+        filter = new JwtAuthenticationFilter(jwtService, null, Duration.ofSeconds(10));
+        request = new MockHttpServletRequest("GET", "/api/products");
+        switch (authorization) {
+            case "valid" -> request.addHeader("Authorization", "Bearer " + token);
+            case "tampered" -> request.addHeader("Authorization", "Bearer " + token + "x");
+            default -> { }
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    // Calls doFilterInternal directly: doFilter would mark the reused request as already filtered
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        filter.doFilterInternal(request, response, NO_OP);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,64 @@
+package com.Zone01.lets_play.service;
+
+import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.models.Product;
+import com.Zone01.lets_play.models.User;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * List-backed stand-ins for the Mongo repositories, so the service benchmarks measure
+ * our code rather than a database. Only the methods the benchmarked paths call are
+ * answered (save hands the entity back without storing it); anything else fails loudly.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static ProductRepository products(List<Product> products) {
+        Map<String, Product> byId = products.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+        return stub(ProductRepository.class, (name, args) -> switch (name) {
+            case "findAll" -> products;
+            case "findPage" -> products.subList(0, Math.min((int) args[4], products.size())); // benchmarks list in _id order
+            case "findById" -> Optional.ofNullable(byId.get((String) args[0]));
+            case "count" -> (long) products.size();
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    static UserRepository users(List<User> users) {
+        Map<String, User> byEmail = users.stream().collect(Collectors.toMap(User::getEmail, Function.identity()));
+        return stub(UserRepository.class, (name, args) -> switch (name) {
+            case "findByEmail" -> byEmail.get((String) args[0]);
+            case "save" -> args[0];
+            case "findOwnersByEmailIn" -> ((Collection<?>) args[0]).stream()
+                    .map(byEmail::get)
+                    .filter(u -> u != null)
+                    .toList();
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    private static <T> T stub(Class<T> type, Answer answer) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) ->
+                switch (method.getName()) {
+                    case "toString" -> "InMemory" + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> answer.answer(method.getName(), args);
+                });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,125 @@
+package com.Zone01.lets_play.service;
+
+import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.dto.ProductDtos.ProductResponse;
+import com.Zone01.lets_play.models.Product;
+import com.Zone01.lets_play.models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product read path over in-memory repositories: rendering one product, and the full
+ * public listing with a warm near-cache ("warm") or reloaded on every call ("cold").
+ * {@code storedOwnerName=false} models products written before ownerName was denormalized,
+ * which still need the owner lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    @Param({"100", "5000"})
+    int products;
+
+    @Param({"true", "false"})
+    boolean storedOwnerName;
+
+    private static final int OWNERS = 50;
+
+    private ProductService service;
+    private ProductCache productCache;
+    private UserSummaryCache owners;
+    private Product single;
+    private Map<String, String> ownerNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<User> users = new ArrayList<>();
+        ownerNames = new HashMap<>();
+        for (int o = 0; o < OWNERS; o++) {
+            User u = new User();
+            u.setId("user-" + o);
+            u.setName("Owner " + o);
+            u.setEmail("owner" + o + "@example.com");
+            u.setRole("USER");
+            users.add(u);
+            ownerNames.put(u.getEmail(), u.getName());
+        }
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < products; i++) {
+            User owner = users.get(i % OWNERS);
+            Product p = new Product();
+            p.setId(String.format("%024x", i));
+            p.setName("Product " + i);
+            p.setDescription("Description of product " + i);
+            p.setPrice(1 + i % 500);
+            p.setUserId(owner.getEmail());
+            p.setOwnerName(storedOwnerName ? owner.getName() : null);
+            catalog.add(p);
+        }
+        single = catalog.get(0);
+
+        ProductRepository productRepo = InMemoryRepositories.products(catalog);
+        UserRepository userRepo = InMemoryRepositories.users(users);
+        productCache = new ProductCache(productRepo, 10_000, Duration.ofHours(1), products);
+        owners = new UserSummaryCache(userRepo, 10_000, Duration.ofHours(1));
+        CatalogVersion version = new FixedCatalogVersion();
+        OwnerNameSync ownerNameSync = new OwnerNameSync(productRepo, userRepo, productCache, version, new SyncTaskExecutor(), false);
+        service = new ProductService(productRepo, productCache, owners, version, ownerNameSync);
+    }
+
+    @Benchmark
+    public ProductResponse toResponse() {
+        return ProductService.toResponse(single, ownerNames);
+    }
+
+    @Benchmark
+    public List<ProductResponse> publicListWarm() {
+        return service.publicList(1L);
+    }
+
+    @Benchmark
+    public List<ProductResponse> publicListCold() {
+        productCache.invalidateAll();
+        owners.invalidateAll();
+        return service.publicList(1L);
+    }
+
+    // The catalog never changes during a run, so no Mongo round trip for the version
+    static final class FixedCatalogVersion extends CatalogVersion {
+        FixedCatalogVersion() {
+            super(null);
+        }
+
+        @Override
+        public long current() {
+            return 1L;
+        }
+
+        @Override
+        public void bump() {
+        }
+    }
+}
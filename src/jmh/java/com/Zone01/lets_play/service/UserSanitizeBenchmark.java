@@ -0,0 +1,63 @@
+package com.Zone01.lets_play.service;
+
+import com.Zone01.lets_play.dto.UserDtos.CreateUserRequest;
+import com.Zone01.lets_play.dto.UserDtos.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserService.create on the names it sees on every registration, through the public API
+ * so the name sanitizing stays private. The repository is in memory and the encoder passes
+ * the password through, leaving the request handling around the sanitizer to measure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSanitizeBenchmark {
+
+    @Param({"Alice", "  Jean-Baptiste Emmanuel Zorg  ", "A name long enough to be scanned three times over, once per forbidden character"})
+    String name;
+
+    private UserService service;
+    private CreateUserRequest request;
+
+    @Setup
+    public void setUp() {
+        // create only touches the repository and the encoder
+        service = new UserService(InMemoryRepositories.users(List.of()), new PassThroughEncoder(), null, null, null, null);
+        request = new CreateUserRequest(name, "new@example.com", "irrelevant-1", null);
+    }
+
+    @Benchmark
+    public UserResponse create() {
+        return service.create(request);
+    }
+
+    static final class PassThroughEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
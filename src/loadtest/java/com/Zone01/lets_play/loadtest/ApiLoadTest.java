@@ -0,0 +1,244 @@
+package com.Zone01.lets_play.loadtest;
+
+import com.Zone01.lets_play.LetsPlayApplication;
+import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.loadtest.OpenLoopDriver.Stats;
+import com.Zone01.lets_play.loadtest.OpenLoopDriver.Weighted;
+import com.Zone01.lets_play.models.Product;
+import com.Zone01.lets_play.models.User;
+import com.Zone01.lets_play.security.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Open-loop load test of the REST API. Starts the application against an in-memory Mongo
+ * stand-in (mongo-java-server), seeds users and products, then drives a fixed arrival rate
+ * of login, list, get, create, update and delete requests and prints p50/p99/p99.9 per
+ * endpoint. Absolute numbers reflect the stand-in, not a real mongod; compare runs with
+ * each other. Excluded from the normal build; run with {@code mvn test -Ploadtest}.
+ * Tunable with -Dloadtest.rate (requests/s), -Dloadtest.seconds, -Dloadtest.warmup-seconds,
+ * -Dloadtest.users, -Dloadtest.products and -Dloadtest.max-in-flight.
+ */
+@Tag("loadtest")
+public class ApiLoadTest {
+
+    private static final int RATE = Integer.getInteger("loadtest.rate", 200);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int PRODUCTS = Integer.getInteger("loadtest.products", 5000);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("loadtest.max-in-flight", 5000);
+    private static final int OWNED_PER_USER = 20;
+    private static final String PASSWORD = "LoadTest123!";
+
+    // Response-time p99 this many times the service-time p99 means the server stalled the client
+    private static final double COORDINATED_OMISSION_RATIO = 2.0;
+    // Share of requests the generator itself may send later than one arrival interval
+    private static final double LATE_START_TOLERANCE = 0.01;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper json = new ObjectMapper();
+
+    private String base;
+    private final List<String> emails = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<String> catalogIds = new ArrayList<>();
+    // Products each user may update or delete; an id is taken out while a request uses it
+    private final List<ConcurrentLinkedDeque<String>> owned = new ArrayList<>();
+
+    @Test
+    @DisplayName("Mixed REST workload at a fixed arrival rate: latency percentiles per endpoint")
+    void mixedWorkload() throws Exception {
+        MongoServer mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongo.bind();
+        // Arguments, not default properties: they must win over application.properties
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LetsPlayApplication.class).run(
+                "--spring.data.mongodb.uri=mongodb://" + address.getHostString() + ":" + address.getPort() + "/loadtest",
+                "--server.port=0",
+                "--server.ssl.enabled=false",
+                "--spring.application.rate-limiting.enabled=false",
+                "--spring.application.reactive-api.enabled=false",
+                "--spring.application.owner-name.backfill-on-startup=false",
+                "--logging.level.com.Zone01.lets_play=WARN",
+                "--logging.level.org.springframework.data.mongodb.core.MongoTemplate=WARN")) {
+            base = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            seed(context);
+
+            OpenLoopDriver driver = new OpenLoopDriver(List.of(
+                    new Weighted("POST /api/auth/login", 5, this::login),
+                    new Weighted("GET /api/products?size", 30, this::list),
+                    new Weighted("GET /api/products/{id}", 45, this::get),
+                    new Weighted("POST /api/products", 8, this::create),
+                    new Weighted("PUT /api/products/{id}", 8, this::update),
+                    new Weighted("DELETE /api/products/{id}", 4, this::delete)
+            ), RATE, MAX_IN_FLIGHT);
+
+            driver.run(Duration.ofSeconds(WARMUP_SECONDS));
+            driver.reset();
+            driver.run(Duration.ofSeconds(SECONDS));
+            long total = report(driver);
+            assertTrue(total > 0);
+        } finally {
+            mongo.shutdownNow();
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        UserRepository users = context.getBean(UserRepository.class);
+        ProductRepository products = context.getBean(ProductRepository.class);
+        JwtService jwt = context.getBean(JwtService.class);
+        // One hash for everyone: seeding should not take USERS BCrypt rounds
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<Product> batch = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setName("Load User " + u);
+            user.setEmail("load" + u + "@example.com");
+            user.setPassword(hash);
+            user.setRole("USER");
+            users.save(user);
+            emails.add(user.getEmail());
+            tokens.add(jwt.generateToken(user));
+            owned.add(new ConcurrentLinkedDeque<>());
+        }
+        for (int i = 0; i < PRODUCTS + USERS * OWNED_PER_USER; i++) {
+            int u = i % USERS;
+            Product p = new Product();
+            p.setName("Load product " + i);
+            p.setDescription("Seeded for the load test");
+            p.setPrice(1 + i % 500);
+            p.setUserId(emails.get(u));
+            p.setOwnerName("Load User " + u);
+            batch.add(p);
+        }
+        List<Product> saved = products.saveAll(batch);
+        for (int i = 0; i < saved.size(); i++) {
+            // The first PRODUCTS are only ever read, so GETs never race a delete
+            if (i < PRODUCTS) {
+                catalogIds.add(saved.get(i).getId());
+            } else {
+                owned.get(i % USERS).add(saved.get(i).getId());
+            }
+        }
+    }
+
+    private boolean login() throws Exception {
+        String email = emails.get(ThreadLocalRandom.current().nextInt(emails.size()));
+        return send("POST", "/api/auth/login", null, "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}").statusCode() == 200;
+    }
+
+    private boolean list() throws Exception {
+        String sort = List.of("id", "price", "name", "newest").get(ThreadLocalRandom.current().nextInt(4));
+        return send("GET", "/api/products?size=20&sort=" + sort, null, null).statusCode() == 200;
+    }
+
+    private boolean get() throws Exception {
+        String id = catalogIds.get(ThreadLocalRandom.current().nextInt(catalogIds.size()));
+        return send("GET", "/api/products/" + id, null, null).statusCode() == 200;
+    }
+
+    private boolean create() throws Exception {
+        int u = ThreadLocalRandom.current().nextInt(USERS);
+        HttpResponse<String> response = send("POST", "/api/products", tokens.get(u),
+                "{\"name\":\"Created under load\",\"description\":\"x\",\"price\":9.5}");
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        owned.get(u).add(json.readTree(response.body()).get("id").asText());
+        return true;
+    }
+
+    private boolean update() throws Exception {
+        int u = ThreadLocalRandom.current().nextInt(USERS);
+        String id = owned.get(u).pollFirst();
+        if (id == null) {
+            return false;
+        }
+        try {
+            return send("PUT", "/api/products/" + id, tokens.get(u),
+                    "{\"name\":\"Updated under load\",\"description\":\"y\",\"price\":10.5}").statusCode() == 200;
+        } finally {
+            owned.get(u).addLast(id);
+        }
+    }
+
+    private boolean delete() throws Exception {
+        int u = ThreadLocalRandom.current().nextInt(USERS);
+        String id = owned.get(u).pollFirst();
+        return id != null && send("DELETE", "/api/products/" + id, tokens.get(u), null).statusCode() == 204;
+    }
+
+    private HttpResponse<String> send(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private long report(OpenLoopDriver driver) {
+        System.out.printf("%n%-28s %8s %7s %9s %9s %9s %9s %12s%n",
+                "endpoint", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        long total = 0;
+        List<String> omitted = new ArrayList<>();
+        for (Map.Entry<String, Stats> e : driver.stats().entrySet()) {
+            Histogram rt = e.getValue().responseTime;
+            Histogram st = e.getValue().serviceTime;
+            total += rt.getTotalCount();
+            System.out.printf("%-28s %8d %7d %9.2f %9.2f %9.2f %9.2f %12.2f%n", e.getKey(), rt.getTotalCount(),
+                    e.getValue().errors.sum(), ms(rt, 50), ms(rt, 99), ms(rt, 99.9), rt.getMaxValue() / 1000.0, ms(st, 99));
+            if (st.getTotalCount() > 0 && ms(rt, 99) > COORDINATED_OMISSION_RATIO * ms(st, 99)) {
+                omitted.add(e.getKey());
+            }
+        }
+        System.out.printf("target %d req/s for %ds, achieved %.1f req/s; %d late starts, %d dropped at the in-flight cap%n",
+                RATE, SECONDS, total / (double) SECONDS, driver.lateStarts(), driver.dropped());
+        if (!omitted.isEmpty()) {
+            System.out.println("COORDINATED OMISSION on " + omitted + ": requests queued behind stalls, so p99 is far above"
+                    + " the service-time p99 a closed-loop client would have reported ('svc p99 ms').");
+        }
+        if (driver.dropped() > 0 || driver.lateStarts() > total * LATE_START_TOLERANCE) {
+            System.out.println("COORDINATED OMISSION in the generator: it could not keep the arrival rate, so the"
+                    + " percentiles understate the latency at " + RATE + " req/s. Lower -Dloadtest.rate or raise"
+                    + " -Dloadtest.max-in-flight.");
+        }
+        System.out.println();
+        return total;
+    }
+
+    private static double ms(Histogram h, double percentile) {
+        return h.getTotalCount() == 0 ? 0 : h.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
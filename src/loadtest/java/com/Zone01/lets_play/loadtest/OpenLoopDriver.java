@@ -0,0 +1,140 @@
+package com.Zone01.lets_play.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fires operations at a fixed arrival rate whatever the server's response times (open loop),
+ * each on its own virtual thread. Every operation is timed twice, into HdrHistograms:
+ * from the moment it was scheduled to start (response time, what a user would see) and
+ * from the moment it was actually sent (service time). A closed-loop client only ever
+ * sees the latter, and when the two diverge the service-time numbers suffer from
+ * coordinated omission: requests that should have been sent during a stall never were.
+ */
+final class OpenLoopDriver {
+
+    /** One kind of request in the mix; returns whether the response was the expected one. */
+    interface Operation {
+        boolean execute() throws Exception;
+    }
+
+    record Weighted(String name, int weight, Operation operation) {}
+
+    static final class Stats {
+        final Histogram responseTime = new ConcurrentHistogram(3);
+        final Histogram serviceTime = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+
+        void reset() {
+            responseTime.reset();
+            serviceTime.reset();
+            errors.reset();
+        }
+    }
+
+    private final List<Weighted> mix;
+    private final int totalWeight;
+    private final long intervalNanos;
+    private final int maxInFlight;
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder lateStarts = new LongAdder();
+
+    OpenLoopDriver(List<Weighted> mix, int ratePerSecond, int maxInFlight) {
+        this.mix = mix;
+        this.totalWeight = mix.stream().mapToInt(Weighted::weight).sum();
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        mix.forEach(op -> stats.put(op.name(), new Stats()));
+    }
+
+    Map<String, Stats> stats() {
+        return stats;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    long lateStarts() {
+        return lateStarts.sum();
+    }
+
+    void reset() {
+        stats.values().forEach(Stats::reset);
+        dropped.reset();
+        lateStarts.reset();
+    }
+
+    /** Runs the mix for {@code duration} and waits for the operations still in flight. */
+    void run(Duration duration) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long count = duration.toNanos() / intervalNanos;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < count; i++) {
+                long intended = start + i * intervalNanos;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                // Past this budget the generator, not the server, is the bottleneck: count, never wait
+                if (!inFlight.tryAcquire()) {
+                    dropped.increment();
+                    continue;
+                }
+                Weighted op = pick();
+                workers.execute(() -> {
+                    try {
+                        execute(op, intended);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void execute(Weighted op, long intended) {
+        Stats s = stats.get(op.name());
+        long sent = System.nanoTime();
+        if (sent - intended > intervalNanos) {
+            lateStarts.increment();
+        }
+        boolean ok;
+        try {
+            ok = op.operation().execute();
+        } catch (Exception e) {
+            ok = false;
+        }
+        long done = System.nanoTime();
+        if (!ok) {
+            s.errors.increment();
+        }
+        s.responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(done - intended));
+        s.serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(done - sent));
+    }
+
+    private Weighted pick() {
+        int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Weighted op : mix) {
+            r -= op.weight();
+            if (r < 0) {
+                return op;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+}
@@ -0,0 +1,11 @@
+package com.Zone01.lets_play.Mongo_repisitory;
+
+import java.util.Map;
+
+/**
+ * Outcome of {@link ProductRepositoryCustom#bulkWrite}: how many updates matched a document,
+ * and the error message of each write that failed, keyed by its position in the write list
+ * (inserts first, then updates).
+ */
+public record ProductBulkResult(int matchedUpdates, Map<Integer, String> failures) {
+}
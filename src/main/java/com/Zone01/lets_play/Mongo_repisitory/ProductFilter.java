@@ -0,0 +1,14 @@
+package com.Zone01.lets_play.Mongo_repisitory;
+
+/**
+ * Optional listing filters; a null field means "no constraint". {@code owner} is the
+ * owner's email, as stored in Product.userId.
+ */
+public record ProductFilter(Double minPrice, Double maxPrice, String owner) {
+
+    public static final ProductFilter NONE = new ProductFilter(null, null, null);
+
+    public boolean isEmpty() {
+        return minPrice == null && maxPrice == null && owner == null;
+    }
+}
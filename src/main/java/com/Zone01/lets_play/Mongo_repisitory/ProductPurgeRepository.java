@@ -0,0 +1,12 @@
+package com.Zone01.lets_play.Mongo_repisitory;
+
+import com.Zone01.lets_play.models.ProductPurge;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductPurgeRepository extends MongoRepository<ProductPurge, String> {
+    // Every query here must be backed by an index declared on ProductPurge; MongoIndexManager checks it at startup
+
+    List<ProductPurge> findByStateIn(Collection<String> states);
+}
@@ -1,9 +1,20 @@
 package com.Zone01.lets_play.Mongo_repisitory;
 
 import com.Zone01.lets_play.models.Product;
+import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import java.util.List;
 
-public interface ProductRepository extends MongoRepository<Product, String> {
+public interface ProductRepository extends MongoRepository<Product, String>, ProductRepositoryCustom {
+    // Every query here must be backed by an index declared on Product; MongoIndexManager checks it at startup
+
     List<Product> findByUserId(String userId);
+
+    // Derived delete with a count return type: one server-side deleteMany, no documents loaded
+    long deleteByUserId(String userId);
+
+    // One server-side deleteMany on the owner_id index, limited to products created up to the boundary _id
+    @Query(value = "{ 'userId': ?0, '_id': { $lte: ?1 } }", delete = true)
+    long deleteByUserIdUpTo(String userId, ObjectId boundaryId);
 }
@@ -0,0 +1,49 @@
+package com.Zone01.lets_play.Mongo_repisitory;
+
+import com.Zone01.lets_play.models.Product;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} products matching {@code filter}, ordered by {@code sort}
+     * then _id, starting strictly after the row identified by {@code lastKey}/{@code lastId}
+     * (first page when {@code lastId} is null). Seeks with a range predicate, never skip.
+     */
+    List<Product> findPage(ProductFilter filter, ProductSort sort, Object lastKey, String lastId, int limit);
+
+    /**
+     * Streams every product from a server-side cursor fetched {@code batchSize} documents
+     * at a time. The caller must close the stream to release the cursor.
+     */
+    Stream<Product> streamAll(int batchSize);
+
+    /**
+     * Full-text search over name and description through the text index, best matches
+     * first. Only matching documents are scored, so the cost follows the hit count.
+     */
+    List<Product> search(String text, int skip, int limit);
+
+    /**
+     * Inserts {@code inserts} (ids already assigned) and sets name, description and price of
+     * {@code updates} by id, all in one unordered bulk write: one failing write does not stop
+     * the others.
+     */
+    ProductBulkResult bulkWrite(List<Product> inserts, List<Product> updates);
+
+    /**
+     * Sets the denormalized ownerName of every product of each owner (userId to name) in one
+     * unordered bulk write. Products already carrying the right name are not rewritten.
+     * Returns the number of products modified.
+     */
+    long setOwnerNames(Map<String, String> namesByUserId);
+
+    /**
+     * Sets ownerName on the products in {@code ids} that belong to {@code userId} and carry
+     * a different name, with one updateMany on _id. Returns the number of products modified.
+     */
+    long setOwnerName(String userId, Collection<String> ids, String name);
+}
@@ -0,0 +1,142 @@
+package com.Zone01.lets_play.Mongo_repisitory;
+
+import com.Zone01.lets_play.models.Product;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private final MongoTemplate mongo;
+
+    ProductRepositoryImpl(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    // Each (filter, sort) combination is an index range scan: owner and the sort key lead the
+    // compound indexes declared on Product, and the seek continues from (lastKey, _id)
+    @Override
+    public List<Product> findPage(ProductFilter filter, ProductSort sort, Object lastKey, String lastId, int limit) {
+        List<Criteria> conditions = new ArrayList<>();
+        if (filter.owner() != null) {
+            conditions.add(Criteria.where("userId").is(filter.owner()));
+        }
+        if (filter.minPrice() != null || filter.maxPrice() != null) {
+            Criteria price = Criteria.where("price");
+            if (filter.minPrice() != null) {
+                price.gte(filter.minPrice());
+            }
+            if (filter.maxPrice() != null) {
+                price.lte(filter.maxPrice());
+            }
+            conditions.add(price);
+        }
+        if (lastId != null) {
+            conditions.add(after(sort, lastKey, lastId));
+        }
+
+        Query query = new Query().limit(limit).with(switch (sort) {
+            case ID -> Sort.by(Sort.Direction.ASC, "id");
+            case PRICE -> Sort.by(Sort.Direction.ASC, "price", "id");
+            case NAME -> Sort.by(Sort.Direction.ASC, "name", "id");
+            case NEWEST -> Sort.by(Sort.Direction.DESC, "id");
+        });
+        if (!conditions.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(conditions));
+        }
+        return mongo.find(query, Product.class);
+    }
+
+    // (key, _id) strictly after (lastKey, lastId) in the given order
+    private static Criteria after(ProductSort sort, Object lastKey, String lastId) {
+        return switch (sort) {
+            case ID -> Criteria.where("id").gt(lastId);
+            case NEWEST -> Criteria.where("id").lt(lastId);
+            case PRICE -> new Criteria().orOperator(
+                    Criteria.where("price").gt(lastKey),
+                    Criteria.where("price").is(lastKey).and("id").gt(lastId));
+            case NAME -> new Criteria().orOperator(
+                    Criteria.where("name").gt(lastKey),
+                    Criteria.where("name").is(lastKey).and("id").gt(lastId));
+        };
+    }
+
+    @Override
+    public Stream<Product> streamAll(int batchSize) {
+        return mongo.stream(new Query().cursorBatchSize(batchSize), Product.class);
+    }
+
+    @Override
+    public List<Product> search(String text, int skip, int limit) {
+        // _id breaks score ties so pages stay stable
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .skip(skip)
+                .limit(limit);
+        return mongo.find(query, Product.class);
+    }
+
+    @Override
+    public ProductBulkResult bulkWrite(List<Product> inserts, List<Product> updates) {
+        if (inserts.isEmpty() && updates.isEmpty()) {
+            return new ProductBulkResult(0, Map.of());
+        }
+        BulkOperations bulk = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        if (!inserts.isEmpty()) {
+            bulk.insert(inserts);
+        }
+        for (Product p : updates) {
+            bulk.updateOne(Query.query(Criteria.where("id").is(p.getId())), new Update()
+                    .set("name", p.getName())
+                    .set("description", p.getDescription())
+                    .set("price", p.getPrice()));
+        }
+        try {
+            BulkWriteResult result = bulk.execute();
+            return new ProductBulkResult(result.getMatchedCount(), Map.of());
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+            return new ProductBulkResult(e.getResult().getMatchedCount(), failures);
+        }
+    }
+
+    @Override
+    public long setOwnerNames(Map<String, String> namesByUserId) {
+        if (namesByUserId.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        // userId leads the owner_id index, so each update only visits that owner's products
+        namesByUserId.forEach((userId, name) -> bulk.updateMulti(
+                Query.query(Criteria.where("userId").is(userId).and("ownerName").ne(name)),
+                Update.update("ownerName", name)));
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public long setOwnerName(String userId, Collection<String> ids, String name) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Query query = Query.query(Criteria.where("_id").in(ids).and("userId").is(userId).and("ownerName").ne(name));
+        return mongo.updateMulti(query, Update.update("ownerName", name), Product.class).getModifiedCount();
+    }
+}
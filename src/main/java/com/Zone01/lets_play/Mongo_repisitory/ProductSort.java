@@ -0,0 +1,25 @@
+package com.Zone01.lets_play.Mongo_repisitory;
+
+/**
+ * Orderings supported by keyset pagination. Every ordering ends with _id so
+ * that the (sort key, _id) pair of the last row is a unique seek position.
+ * NEWEST is _id descending: ObjectIds grow with creation time.
+ */
+public enum ProductSort {
+    ID,
+    PRICE,
+    NAME,
+    NEWEST;
+
+    public static ProductSort from(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        for (ProductSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(value.trim())) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + value);
+    }
+}
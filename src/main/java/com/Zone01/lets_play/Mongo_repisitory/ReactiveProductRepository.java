@@ -0,0 +1,8 @@
+package com.Zone01.lets_play.Mongo_repisitory;
+
+import com.Zone01.lets_play.models.Product;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+// Read side of the reactive public API; writes stay on ProductRepository through ProductService
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String> {
+}
@@ -0,0 +1,15 @@
+package com.Zone01.lets_play.Mongo_repisitory;
+
+import com.Zone01.lets_play.models.User;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+
+    // Same projection as UserRepository.findOwnersByEmailIn: password hashes are never read back
+    @Query(value = "{ 'email': { $in: ?0 } }", fields = "{ 'name': 1, 'email': 1, 'role': 1 }")
+    Flux<User> findOwnersByEmailIn(Collection<String> emails);
+}
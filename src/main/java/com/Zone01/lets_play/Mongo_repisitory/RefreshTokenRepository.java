@@ -0,0 +1,13 @@
+package com.Zone01.lets_play.Mongo_repisitory;
+
+import com.Zone01.lets_play.models.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+    // Every query here must be backed by an index declared on RefreshToken; MongoIndexManager checks it at startup
+
+    // findAndRemove: a refresh token can be redeemed only once, even by concurrent requests
+    RefreshToken deleteByTokenHash(String tokenHash);
+
+    long deleteByUserId(String userId);
+}
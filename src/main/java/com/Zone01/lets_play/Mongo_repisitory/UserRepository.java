@@ -1,8 +1,27 @@
 package com.Zone01.lets_play.Mongo_repisitory;
 
 import com.Zone01.lets_play.models.User;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import java.util.Collection;
+import java.util.List;
 
 public interface UserRepository extends MongoRepository<User, String> {
+    // Every query here must be backed by an index declared on User; MongoIndexManager checks it at startup
+
     User findByEmail(String email);
-}
\ No newline at end of file
+
+    // Bulk owner lookup for product listings: one $in query, password hashes are never read back
+    @Query(value = "{ 'email': { $in: ?0 } }", fields = "{ 'name': 1, 'email': 1, 'role': 1 }")
+    List<User> findOwnersByEmailIn(Collection<String> emails);
+
+    // Owner name copied onto products when they are written
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'name': 1, 'email': 1 }")
+    User findNameByEmail(String email);
+
+    // Owner-name backfill: keyset walk over _id, each page an index range instead of a growing skip
+    @Query(value = "{ '_id': { $gt: ?0 } }", fields = "{ 'name': 1, 'email': 1 }", sort = "{ '_id': 1 }")
+    List<User> findNamesAfter(ObjectId lastId, Pageable page);
+}
@@ -0,0 +1,142 @@
+package com.Zone01.lets_play.config;
+
+import com.Zone01.lets_play.models.Product;
+import com.Zone01.lets_play.models.ProductPurge;
+import com.Zone01.lets_play.models.RefreshToken;
+import com.Zone01.lets_play.models.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Creates the indexes declared on the mapped entities (@Indexed, @CompoundIndex, ...)
+ * before the web server starts, then compares them with what actually exists in Mongo.
+ * Every repository query path must be backed by one of these declarations.
+ * A missing or unexpected index is logged, or aborts startup when fail-on-drift is set.
+ */
+@Component
+public class MongoIndexManager implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexManager.class);
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(User.class, Product.class, RefreshToken.class, ProductPurge.class);
+
+    private final MongoTemplate mongo;
+    private final boolean createOnStartup;
+    private final boolean failOnDrift;
+
+    public MongoIndexManager(MongoTemplate mongo,
+                            @Value("${spring.application.mongo-indexes.create-on-startup:true}") boolean createOnStartup,
+                            @Value("${spring.application.mongo-indexes.fail-on-drift:false}") boolean failOnDrift) {
+        this.mongo = mongo;
+        this.createOnStartup = createOnStartup;
+        this.failOnDrift = failOnDrift;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongo.getConverter().getMappingContext());
+        List<String> drift = new ArrayList<>();
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            String collection = mongo.getCollectionName(entity);
+            IndexOperations ops = mongo.indexOps(entity);
+            Set<String> expected = new TreeSet<>();
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity)) {
+                if (createOnStartup) {
+                    ops.createIndex(definition); // no-op when an identical index already exists
+                }
+                expected.add(signature(definition.getIndexKeys(), definition.getIndexOptions()));
+            }
+            drift.addAll(compare(collection, expected, existingSignatures(collection)));
+        }
+
+        if (drift.isEmpty()) {
+            log.info("[INDEXES] Mongo indexes match the declared set for {}", INDEXED_ENTITIES.stream().map(Class::getSimpleName).toList());
+            return;
+        }
+        drift.forEach(d -> log.warn("[INDEXES] {}", d));
+        if (failOnDrift) {
+            throw new IllegalStateException("Mongo index drift detected: " + drift);
+        }
+    }
+
+    private Set<String> existingSignatures(String collection) {
+        Set<String> existing = new TreeSet<>();
+        for (Document index : mongo.getCollection(collection).listIndexes()) {
+            if (!"_id_".equals(index.getString("name"))) {
+                existing.add(signature(index.get("key", Document.class), index));
+            }
+        }
+        return existing;
+    }
+
+    private List<String> compare(String collection, Set<String> expected, Set<String> existing) {
+        List<String> drift = new ArrayList<>();
+        for (String index : expected) {
+            if (!existing.contains(index)) {
+                drift.add("Missing index on '" + collection + "': " + index);
+            }
+        }
+        for (String index : existing) {
+            if (!expected.contains(index)) {
+                drift.add("Undeclared index on '" + collection + "': " + index);
+            }
+        }
+        return drift;
+    }
+
+    // Key order matters for compound indexes, so the signature keeps it; among options only uniqueness and TTL are compared
+    private static String signature(Document keys, Document options) {
+        if (isText(keys)) {
+            return textSignature(keys, options);
+        }
+        StringBuilder sb = new StringBuilder("{");
+        keys.forEach((field, direction) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(field).append(": ").append(direction instanceof Number n ? n.intValue() : direction);
+        });
+        sb.append('}');
+        if (options != null && Boolean.TRUE.equals(options.get("unique"))) {
+            sb.append(" unique");
+        }
+        if (options != null && options.get("expireAfterSeconds") instanceof Number ttl) {
+            sb.append(" ttl=").append(ttl.longValue()).append('s');
+        }
+        return sb.toString();
+    }
+
+    // Declared text indexes list {field: "text"}; Mongo reports them as {_fts: "text", _ftsx: 1}
+    private static boolean isText(Document keys) {
+        return keys.containsKey("_fts") || keys.containsValue("text");
+    }
+
+    // A text index is identified by its fields and their weights (default 1), in any order
+    private static String textSignature(Document keys, Document options) {
+        Map<String, Integer> weights = new TreeMap<>();
+        keys.forEach((field, type) -> {
+            if ("text".equals(type)) {
+                weights.put(field, 1);
+            }
+        });
+        weights.remove("_fts");
+        Document declared = options != null ? options.get("weights", Document.class) : null;
+        if (declared != null) {
+            declared.forEach((field, weight) -> weights.put(field, ((Number) weight).intValue()));
+        }
+        return "text" + weights;
+    }
+}
@@ -1,31 +1,75 @@
 package com.Zone01.lets_play.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class RateLimitingInterceptor implements HandlerInterceptor {
 
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
+    private static final Duration REFILL_PERIOD = Duration.ofMinutes(1);
+
+    // One bucket per client address. Idle buckets are evicted (a bucket idle for longer than
+    // the refill period is full again, so nothing is lost) and the store is hard-capped, so
+    // memory follows the number of active clients rather than every address ever seen.
+    // The cap is not free: once it is reached, each new address evicts another client's bucket,
+    // and that client comes back with a full one. A caller rotating through many addresses can
+    // therefore reset other clients' limits, so max-clients must stay well above the number of
+    // clients active within one idle timeout.
+    private final Cache<String, Bucket> cache;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public RateLimitingInterceptor(@Value("${spring.application.rate-limiting.max-clients:100000}") long maxClients,
+                                   @Value("${spring.application.rate-limiting.idle-timeout:10m}") Duration idleTimeout) {
+        this(maxClients, idleTimeout, Ticker.systemTicker());
+    }
+
+    // The ticker only drives idle expiry; the buckets refill on wall-clock time
+    RateLimitingInterceptor(long maxClients, Duration idleTimeout, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout.compareTo(REFILL_PERIOD) < 0 ? REFILL_PERIOD : idleTimeout)
+                .ticker(ticker)
+                .build();
+    }
 
     public Bucket createNewBucket() {
         return Bucket.builder()
-                .addLimit(Bandwidth.classic(20, Refill.intervally(20, Duration.ofMinutes(1))))
+                .addLimit(Bandwidth.classic(20, Refill.intervally(20, REFILL_PERIOD)))
                 .build();
     }
 
     public Bucket resolveBucket(String key) {
-        return cache.computeIfAbsent(key, k -> createNewBucket());
+        return cache.get(key, k -> createNewBucket());
+    }
+
+    // Runs pending evictions first, so expired buckets are not counted
+    public long liveBuckets() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    public long acceptedCount() {
+        return accepted.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
     }
 
     @Override
@@ -34,8 +78,10 @@ public class RateLimitingInterceptor implements HandlerInterceptor {
         Bucket tokenBucket = resolveBucket(key);
 
         if (tokenBucket.tryConsume(1)) {
+            accepted.increment();
             return true;
         } else {
+            rejected.increment();
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.setContentType("application/json");
             response.getWriter().write("{\"error\":\"Too many requests\",\"message\":\"Rate limit exceeded. Try again later.\"}");
@@ -0,0 +1,116 @@
+package com.Zone01.lets_play.config;
+
+import com.Zone01.lets_play.controllers.ProductReactiveHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.security.web.server.header.CacheControlServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.CompositeServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.ContentTypeOptionsServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.HttpHeaderWriterWebFilter;
+import org.springframework.security.web.server.header.ServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.StrictTransportSecurityServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.XFrameOptionsServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.XXssProtectionServerHttpHeadersWriter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import java.net.InetAddress;
+
+/**
+ * Serves the reactive public product API on its own Reactor Netty server, next to the
+ * Tomcat server that runs everything else. A slow client costs a connection here, not
+ * a thread. Only public reads are routed; it shares the server.ssl settings and the
+ * /api CORS policy of the main server, and sends the same security headers.
+ * It has no rate limiting of its own and its listing is the whole catalog, so it binds
+ * to the loopback interface unless spring.application.reactive-api.address says otherwise:
+ * expose it through a proxy that applies those limits.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.application.reactive-api.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveApiServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveApiServer.class);
+
+    private final ProductReactiveHandler handler;
+    private final ObjectMapper objectMapper;
+    private final ServerProperties serverProperties;
+    private final SslBundles sslBundles;
+    private final InetAddress address;
+    private final int port;
+    private volatile WebServer server;
+
+    public ReactiveApiServer(ProductReactiveHandler handler, ObjectMapper objectMapper,
+                             ServerProperties serverProperties, SslBundles sslBundles,
+                             @Value("${spring.application.reactive-api.address:127.0.0.1}") InetAddress address,
+                             @Value("${spring.application.reactive-api.port:8444}") int port) {
+        this.handler = handler;
+        this.objectMapper = objectMapper;
+        this.serverProperties = serverProperties;
+        this.sslBundles = sslBundles;
+        this.address = address;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        UrlBasedCorsConfigurationSource cors = new UrlBasedCorsConfigurationSource();
+        cors.registerCorsConfiguration("/api/**", CorsConfig.apiCorsConfiguration());
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .webFilter(new CorsWebFilter(cors))
+                .webFilter(new HttpHeaderWriterWebFilter(securityHeaders()))
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(port);
+        factory.setAddress(address);
+        factory.setSsl(serverProperties.getSsl());
+        factory.setSslBundles(sslBundles);
+        WebServer webServer = factory.getWebServer(httpHandler);
+        webServer.start();
+        server = webServer;
+        log.info("[REACTIVE] Public product API listening on {}:{}", address.getHostAddress(), webServer.getPort());
+    }
+
+    // Spring Security's default response headers, as the servlet API sends them
+    private static ServerHttpHeadersWriter securityHeaders() {
+        return new CompositeServerHttpHeadersWriter(
+                new CacheControlServerHttpHeadersWriter(),
+                new ContentTypeOptionsServerHttpHeadersWriter(),
+                new StrictTransportSecurityServerHttpHeadersWriter(),
+                new XFrameOptionsServerHttpHeadersWriter(),
+                new XXssProtectionServerHttpHeadersWriter());
+    }
+
+    @Override
+    public void stop() {
+        WebServer webServer = server;
+        server = null;
+        if (webServer != null) {
+            webServer.stop();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int getPort() {
+        WebServer webServer = server;
+        return webServer != null ? webServer.getPort() : -1;
+    }
+}
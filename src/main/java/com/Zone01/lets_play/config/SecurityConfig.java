@@ -1,5 +1,6 @@
 package com.Zone01.lets_play.config;
 
+import com.Zone01.lets_play.exception.PasswordHashingBusyException;
 import com.Zone01.lets_play.security.JwtAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +14,8 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
@@ -68,6 +71,34 @@ public class SecurityConfig {
         };
     }
 
+    @Bean
+    public AuthenticationFailureHandler formLoginFailureHandler() {
+        SimpleUrlAuthenticationFailureHandler redirect = new SimpleUrlAuthenticationFailureHandler("/login?error=true");
+        return (request, response, exception) -> {
+            PasswordHashingBusyException busy = hashingBusy(exception);
+            if (busy != null) {
+                // Password checks are saturated: fail fast instead of queueing behind them
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                response.setHeader("Retry-After", String.valueOf(busy.getRetryAfterSeconds()));
+                response.setContentType("text/plain;charset=UTF-8");
+                response.getWriter().write("Server busy, please try logging in again in a moment.");
+                return;
+            }
+            redirect.onAuthenticationFailure(request, response, exception);
+        };
+    }
+
+    // DaoAuthenticationProvider rethrows most failures while loading the user as an
+    // InternalAuthenticationServiceException, so the busy signal may sit in the cause chain
+    private static PasswordHashingBusyException hashingBusy(Throwable exception) {
+        for (Throwable t = exception; t != null; t = t.getCause()) {
+            if (t instanceof PasswordHashingBusyException busy) {
+                return busy;
+            }
+        }
+        return null;
+    }
+
     @Bean
     @Order(1)
     public SecurityFilterChain apiFilterChain(HttpSecurity http) throws Exception {
@@ -81,6 +112,7 @@ public class SecurityConfig {
                 // Public endpoints
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/products/**").permitAll()
                 .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/auth/login").permitAll()
+                .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/auth/refresh", "/api/auth/logout").permitAll()
                 .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/users").permitAll()
 
                 // Admin-only endpoints
@@ -117,7 +149,7 @@ public class SecurityConfig {
                 .usernameParameter("email")
                 .passwordParameter("password")
                 .defaultSuccessUrl("/", true)
-                .failureUrl("/login?error=true")
+                .failureHandler(formLoginFailureHandler())
                 .permitAll()
             )
             .logout(logout -> logout
@@ -0,0 +1,221 @@
+package com.Zone01.lets_play.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Driver-level command listener on both Mongo clients (sync and reactive). Every command is
+ * timed per command name and collection; only commands slower than the threshold are logged,
+ * plus a small random sample of the rest. Query shapes (the filter, sort and pipeline with
+ * every value replaced by "?") are aggregated so the slowest ones can be read from
+ * /web/admin/slow-queries. Values never reach the log or the shape table.
+ */
+@Component
+public class SlowQueryLog implements CommandListener, MongoClientSettingsBuilderCustomizer {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    // Shapes are bounded by the code paths that build queries; the cap only guards against a bug
+    private static final int MAX_SHAPES = 1000;
+    private static final Set<String> SHAPED_FIELDS = Set.of("filter", "sort", "pipeline", "query", "q", "key");
+
+    public record CommandStats(String command, String collection, long count, long failures,
+                               double avgMillis, double maxMillis) {}
+
+    public record ShapeStats(String shape, long count, double avgMillis, double maxMillis) {}
+
+    private record Started(String command, String collection, String shape) {}
+
+    private static final class Totals {
+        final LongAdder count = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long elapsed, boolean failed) {
+            count.increment();
+            if (failed) {
+                failures.increment();
+            }
+            nanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+
+        double avgMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : nanos.sum() / 1e6 / n;
+        }
+    }
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final int topN;
+    private final Map<Integer, Started> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Totals> byCommand = new ConcurrentHashMap<>();
+    private final Map<String, Totals> byShape = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(@Value("${spring.application.slow-query.threshold:100ms}") Duration threshold,
+                        @Value("${spring.application.slow-query.sample-rate:0.001}") double sampleRate,
+                        @Value("${spring.application.slow-query.top-n:20}") int topN) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.topN = topN;
+    }
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        builder.addCommandListener(this);
+    }
+
+    // The command document is only valid during this callback, so the shape is taken now
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        String collection = collectionOf(event.getCommandName(), command);
+        inFlight.put(event.getRequestId(), new Started(event.getCommandName(), collection, shapeOf(command)));
+    }
+
+    // Commands name their collection in the command field, except getMore, which holds the cursor id there
+    private static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue target = command.get(commandName.equals("getMore") ? "collection" : commandName);
+        return target != null && target.isString() ? target.asString().getValue() : "";
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finish(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finish(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+    }
+
+    private void finish(int requestId, long elapsed, boolean failed) {
+        Started started = inFlight.remove(requestId);
+        if (started == null) {
+            return;
+        }
+        byCommand.computeIfAbsent(started.command() + " " + started.collection(), k -> new Totals()).record(elapsed, failed);
+        String shape = started.command() + " " + started.collection() + " " + started.shape();
+        Totals shapeTotals = byShape.get(shape);
+        if (shapeTotals == null && byShape.size() < MAX_SHAPES) {
+            shapeTotals = byShape.computeIfAbsent(shape, k -> new Totals());
+        }
+        if (shapeTotals != null) {
+            shapeTotals.record(elapsed, failed);
+        }
+
+        if (elapsed >= thresholdNanos) {
+            log.warn("[SLOW-QUERY] {} ms{} {}", String.format("%.1f", elapsed / 1e6), failed ? " (failed)" : "", shape);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && log.isInfoEnabled()) {
+            log.info("[QUERY-SAMPLE] {} ms{} {}", String.format("%.1f", elapsed / 1e6), failed ? " (failed)" : "", shape);
+        }
+    }
+
+    public Duration threshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    public double sampleRate() {
+        return sampleRate;
+    }
+
+    public List<CommandStats> commandStats() {
+        return byCommand.entrySet().stream()
+                .map(e -> {
+                    String[] key = e.getKey().split(" ", 2);
+                    Totals t = e.getValue();
+                    return new CommandStats(key[0], key[1], t.count.sum(), t.failures.sum(), t.avgMillis(), t.maxNanos.get() / 1e6);
+                })
+                .sorted(Comparator.comparingDouble(CommandStats::maxMillis).reversed())
+                .toList();
+    }
+
+    /** The {@code top-n} query shapes with the highest maximum duration. */
+    public List<ShapeStats> slowestShapes() {
+        return byShape.entrySet().stream()
+                .map(e -> new ShapeStats(e.getKey(), e.getValue().count.sum(), e.getValue().avgMillis(),
+                        e.getValue().maxNanos.get() / 1e6))
+                .sorted(Comparator.comparingDouble(ShapeStats::maxMillis).reversed())
+                .limit(topN)
+                .toList();
+    }
+
+    public void reset() {
+        byCommand.clear();
+        byShape.clear();
+    }
+
+    // e.g. {filter: {userId: ?, price: {$gte: ?}}, sort: {price: 1, _id: 1}}
+    private static String shapeOf(BsonDocument command) {
+        StringBuilder sb = new StringBuilder("{");
+        for (Map.Entry<String, BsonValue> e : command.entrySet()) {
+            String field = e.getKey();
+            BsonValue value = e.getValue();
+            if (field.equals("updates") || field.equals("deletes")) {
+                // Bulk writes: the shape of the first statement stands for the batch
+                value = value.isArray() && !value.asArray().isEmpty() ? value.asArray().get(0) : value;
+            } else if (!SHAPED_FIELDS.contains(field)) {
+                continue;
+            }
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(field).append(": ");
+            appendShape(sb, value, field.equals("sort"));
+        }
+        return sb.append('}').toString();
+    }
+
+    private static void appendShape(StringBuilder sb, BsonValue value, boolean keepValues) {
+        if (value.isDocument()) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> e : value.asDocument().entrySet()) {
+                if (!first) sb.append(", ");
+                first = false;
+                sb.append(e.getKey()).append(": ");
+                appendShape(sb, e.getValue(), keepValues);
+            }
+            sb.append('}');
+        } else if (value.isArray()) {
+            BsonArray array = value.asArray();
+            boolean scalars = array.stream().noneMatch(v -> v.isDocument() || v.isArray());
+            if (scalars) {
+                sb.append("[?]");
+                return;
+            }
+            sb.append('[');
+            for (int i = 0; i < array.size(); i++) {
+                if (i > 0) sb.append(", ");
+                appendShape(sb, array.get(i), keepValues);
+            }
+            sb.append(']');
+        } else if (keepValues && value.isNumber()) {
+            sb.append(value.asNumber().intValue()); // sort directions are part of the shape
+        } else {
+            sb.append('?');
+        }
+    }
+}
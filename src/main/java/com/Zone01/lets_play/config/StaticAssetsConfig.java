@@ -0,0 +1,85 @@
+package com.Zone01.lets_play.config;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Scripts and the stylesheet are served under content-hashed names (/js/products-&lt;md5&gt;.js),
+ * which Thymeleaf's @{...} links are rewritten to by the ResourceUrlEncodingFilter. A changed file
+ * gets a new URL, so hashed responses can be cached as immutable; the same file under its plain
+ * name (/index.css) keeps its URL across deploys and is sent as no-cache, revalidated against
+ * Last-Modified. The .gz written by the build is sent to clients that accept it. These paths skip
+ * the security filter chain entirely: they are public and must not pick up its headers or session.
+ */
+@Configuration
+public class StaticAssetsConfig implements WebMvcConfigurer {
+
+    static final String[] ASSET_PATTERNS = {"/js/**", "/*.css"};
+    // The version VersionResourceResolver's content strategy inserts: products-<md5>.js
+    private static final Pattern FINGERPRINTED = Pattern.compile("-[0-9a-f]{32}\\.[a-z]+$");
+
+    private final String immutable;
+    private final String revalidate = CacheControl.noCache().getHeaderValue();
+
+    public StaticAssetsConfig(@Value("${spring.application.static-assets.max-age:365d}") Duration maxAge) {
+        this.immutable = CacheControl.maxAge(maxAge).cachePublic().immutable().getHeaderValue();
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        fingerprinted(registry.addResourceHandler("/js/**").addResourceLocations("classpath:/static/js/"));
+        fingerprinted(registry.addResourceHandler("/*.css").addResourceLocations("classpath:/static/"));
+    }
+
+    // No CacheControl on the handler: the header depends on the URL and is set by the interceptor below
+    private void fingerprinted(ResourceHandlerRegistration registration) {
+        // true: resolved resources and their hashes are computed once and cached
+        registration.resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                boolean hashed = FINGERPRINTED.matcher(request.getRequestURI()).find();
+                response.setHeader(HttpHeaders.CACHE_CONTROL, hashed ? immutable : revalidate);
+                return true;
+            }
+        }).addPathPatterns(ASSET_PATTERNS);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        FilterRegistrationBean<ResourceUrlEncodingFilter> registration =
+                new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ERROR);
+        return registration;
+    }
+
+    @Bean
+    public WebSecurityCustomizer staticAssetsWebSecurityCustomizer() {
+        return web -> web.ignoring().requestMatchers(ASSET_PATTERNS);
+    }
+}
@@ -1,16 +1,27 @@
 package com.Zone01.lets_play.config;
 
+import com.Zone01.lets_play.security.OffloadingPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
 
 @Configuration
 public class UserConfig {
 
-    // Password encoder bean
+    // Password encoder bean: BCrypt, run on a bounded pool off the request threads.
+    // The pool stays on platform threads in virtual-thread mode too: hashing is pure CPU
+    // and would otherwise hold the few carrier threads every virtual thread shares.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public OffloadingPasswordEncoder passwordEncoder(
+            @Value("${spring.application.password-hashing.threads:0}") int threads,
+            @Value("${spring.application.password-hashing.queue-capacity:20}") int queueCapacity,
+            @Value("${spring.application.password-hashing.max-wait:2s}") Duration maxWait,
+            @Value("${spring.application.password-hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, maxWait,
+                retryAfterSeconds);
     }
 }
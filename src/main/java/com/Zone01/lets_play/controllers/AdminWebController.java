@@ -1,12 +1,24 @@
 package com.Zone01.lets_play.controllers;
 
+import com.Zone01.lets_play.config.PinnedThreadMonitor;
+import com.Zone01.lets_play.config.RateLimitingInterceptor;
+import com.Zone01.lets_play.config.SlowQueryLog;
+import com.Zone01.lets_play.exception.ResourceNotFoundException;
+import com.Zone01.lets_play.security.JwtService;
+import com.Zone01.lets_play.security.OffloadingPasswordEncoder;
+import com.Zone01.lets_play.service.ProductCache;
+import com.Zone01.lets_play.service.ProductPurgeService;
 import com.Zone01.lets_play.service.UserService;
+import com.Zone01.lets_play.service.UserSummaryCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.Zone01.lets_play.dto.UserDtos.*;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -15,10 +27,29 @@ import java.util.Map;
 public class AdminWebController {
 
     private final UserService userService;
+    private final UserSummaryCache userSummaryCache;
+    private final ProductCache productCache;
+    private final ProductPurgeService productPurgeService;
+    private final RateLimitingInterceptor rateLimiter;
+    private final OffloadingPasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor;
+    private final SlowQueryLog slowQueryLog;
 
     @Autowired
-    public AdminWebController(UserService userService) {
+    public AdminWebController(UserService userService, UserSummaryCache userSummaryCache, ProductCache productCache,
+                              ProductPurgeService productPurgeService, RateLimitingInterceptor rateLimiter,
+                              OffloadingPasswordEncoder passwordEncoder, JwtService jwtService,
+                              ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor, SlowQueryLog slowQueryLog) {
         this.userService = userService;
+        this.userSummaryCache = userSummaryCache;
+        this.productCache = productCache;
+        this.productPurgeService = productPurgeService;
+        this.rateLimiter = rateLimiter;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        this.pinnedThreadMonitor = pinnedThreadMonitor;
+        this.slowQueryLog = slowQueryLog;
     }
 
     @GetMapping("/users")
@@ -29,9 +60,77 @@ public class AdminWebController {
 
     @DeleteMapping("/users/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> deleteUser(@PathVariable String id) {
+    public ResponseEntity<?> deleteUser(@PathVariable String id,
+                                        @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            // 202: the account is gone, its products are purged in the background
+            return ResponseEntity.accepted().body(userService.deleteInBackground(id));
+        }
         userService.delete(id);
         return ResponseEntity.ok(Map.of("message", "User deleted successfully"));
     }
-}
 
+    @GetMapping("/users/{id}/purge")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PurgeStatus> getPurgeStatus(@PathVariable String id) {
+        PurgeStatus status = productPurgeService.status(id);
+        if (status == null) {
+            throw new ResourceNotFoundException("No product purge found for user " + id);
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("userSummaryCache", cacheStats(userSummaryCache.stats(), userSummaryCache.size()));
+        stats.put("productCache", cacheStats(productCache.stats(), productCache.size()));
+        stats.put("jwtVerifiedCache", cacheStats(jwtService.verifiedCacheStats(), jwtService.verifiedCacheSize()));
+        stats.put("rateLimiter", Map.of(
+                "liveBuckets", rateLimiter.liveBuckets(),
+                "accepted", rateLimiter.acceptedCount(),
+                "rejected", rateLimiter.rejectedCount()));
+        stats.put("passwordHashing", Map.of(
+                "queueDepth", passwordEncoder.queueDepth(),
+                "activeThreads", passwordEncoder.activeThreads(),
+                "rejected", passwordEncoder.rejectedCount(),
+                "hashes", passwordEncoder.hashCount(),
+                "avgHashMillis", passwordEncoder.averageHashMillis(),
+                "maxHashMillis", passwordEncoder.maxHashMillis()));
+        // Only present in virtual-thread mode
+        PinnedThreadMonitor pinning = pinnedThreadMonitor.getIfAvailable();
+        stats.put("virtualThreads", Map.of(
+                "enabled", pinning != null,
+                "pinnedEvents", pinning != null ? pinning.pinnedCount() : 0L));
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/slow-queries")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getSlowQueries() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("thresholdMillis", slowQueryLog.threshold().toMillis());
+        body.put("sampleRate", slowQueryLog.sampleRate());
+        body.put("slowestShapes", slowQueryLog.slowestShapes());
+        body.put("commands", slowQueryLog.commandStats());
+        return ResponseEntity.ok(body);
+    }
+
+    @DeleteMapping("/slow-queries")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> resetSlowQueries() {
+        slowQueryLog.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    private Map<String, Object> cacheStats(CacheStats s, long size) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", size);
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("hitRate", s.hitRate());
+        m.put("evictions", s.evictionCount());
+        return m;
+    }
+}
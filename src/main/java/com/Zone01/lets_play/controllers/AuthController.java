@@ -3,7 +3,7 @@ package com.Zone01.lets_play.controllers;
 import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
 import com.Zone01.lets_play.dto.AuthDtos.*;
 import com.Zone01.lets_play.models.User;
-import com.Zone01.lets_play.security.JwtService;
+import com.Zone01.lets_play.security.RefreshTokenService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,23 +16,37 @@ import jakarta.annotation.security.PermitAll;
 public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokens;
 
     @Autowired
-    public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                          RefreshTokenService refreshTokens) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.jwtService = jwtService;
+        this.refreshTokens = refreshTokens;
     }
 
     @PermitAll
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest req) {
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest req) {
         User user = userRepository.findByEmail(req.email());
         if (user == null || !passwordEncoder.matches(req.password(), user.getPassword())) {
             return ResponseEntity.status(401).build();
         }
-        String token = jwtService.generateToken(user);
-        return ResponseEntity.ok(new LoginResponse(token));
+        return ResponseEntity.ok(refreshTokens.issue(user.getId(), user.getEmail(), user.getRole()));
+    }
+
+    // Trades a refresh token for a new access token and a new refresh token; the old one is spent
+    @PermitAll
+    @PostMapping("/refresh")
+    public TokenResponse refresh(@Valid @RequestBody RefreshRequest req) {
+        return refreshTokens.refresh(req.refreshToken());
+    }
+
+    @PermitAll
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshRequest req) {
+        refreshTokens.revoke(req.refreshToken());
+        return ResponseEntity.noContent().build();
     }
 }
@@ -1,9 +1,12 @@
 package com.Zone01.lets_play.controllers;
 
+import com.Zone01.lets_play.Mongo_repisitory.ProductFilter;
 import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
 import com.Zone01.lets_play.models.User;
 import com.Zone01.lets_play.security.JwtService;
+import com.Zone01.lets_play.service.ProductService;
 import com.Zone01.lets_play.service.UserService;
+import com.Zone01.lets_play.service.UserSummaryCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,28 +20,37 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import com.Zone01.lets_play.dto.UserDtos.UpdateProfileRequest;
+import com.Zone01.lets_play.dto.UserDtos.UserResponse;
 import java.util.HashMap;
 import java.util.Map;
 
 @Controller
 public class HomeController {
 
+    // Products rendered into /products; later pages are fetched by products.js with the cursor
+    static final int FIRST_PAGE_SIZE = 20;
+
     private final UserRepository userRepository;
     private final JwtService jwtService;
     private final UserService userService;
+    private final UserSummaryCache userSummaries;
+    private final ProductService productService;
 
     @Autowired
-    public HomeController(UserRepository userRepository, JwtService jwtService, UserService userService) {
+    public HomeController(UserRepository userRepository, JwtService jwtService, UserService userService,
+                          UserSummaryCache userSummaries, ProductService productService) {
         this.userRepository = userRepository;
         this.jwtService = jwtService;
         this.userService = userService;
+        this.userSummaries = userSummaries;
+        this.productService = productService;
     }
 
     @GetMapping("/")
     public String home(Authentication authentication, Model model) {
         if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
             String email = authentication.getName(); // usernameParameter set to email
-            User current = userRepository.findByEmail(email);
+            UserResponse current = userSummaries.get(email);
             if (current != null) {
                 model.addAttribute("currentUser", current);
             } else {
@@ -49,36 +61,39 @@ public class HomeController {
         return "index";
     }
 
+    // The first page of products is rendered into the page, so products.js can show the list
+    // without first waiting on /api/products. No API token is minted here: products.js keeps
+    // the one from /web/token until it nears expiry.
     @GetMapping("/products")
     public String products(Authentication authentication, Model model) {
         if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
             String email = authentication.getName();
-            User current = userRepository.findByEmail(email);
+            UserResponse current = userSummaries.get(email);
             if (current != null) {
                 model.addAttribute("currentUser", current);
             }
         }
+        model.addAttribute("firstPage", productService.page(ProductFilter.NONE, null, null, FIRST_PAGE_SIZE));
         return "products";
     }
 
+    // Short-lived API token for the logged-in session; the session itself plays the part of the
+    // refresh token, and the client only comes back here when its token is about to expire
     @GetMapping("/web/token")
     @ResponseBody
-    public ResponseEntity<Map<String, String>> getTokenForWebUser(Authentication authentication) {
+    public ResponseEntity<Map<String, Object>> getTokenForWebUser(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
             return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
         }
 
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email);
-
+        UserResponse user = userSummaries.get(authentication.getName());
         if (user == null) {
             return ResponseEntity.status(404).body(Map.of("error", "User not found"));
         }
 
-        String token = jwtService.generateToken(user);
-        Map<String, String> response = new HashMap<>();
-        response.put("token", token);
-
+        Map<String, Object> response = new HashMap<>();
+        response.put("token", jwtService.generateToken(user.id(), user.email(), user.role()));
+        response.put("expiresIn", jwtService.accessTokenTtl().toSeconds());
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,63 @@
+package com.Zone01.lets_play.controllers;
+
+import com.Zone01.lets_play.dto.ProductDtos.ProductResponse;
+import com.Zone01.lets_play.exception.ProductNotFoundException;
+import com.Zone01.lets_play.service.ReactiveProductReader;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Public, unauthenticated product reads on the reactive API server (see ReactiveApiServer).
+ * Mirrors GET /api/products and GET /api/products/{id} of ProductRestController; a client
+ * that sends {@code Accept: application/x-ndjson} gets the listing one product per line.
+ */
+@Component
+public class ProductReactiveHandler {
+
+    private final ReactiveProductReader reader;
+
+    public ProductReactiveHandler(ReactiveProductReader reader) {
+        this.reader = reader;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/products", this::list)
+                .GET("/api/products/{id}", this::get)
+                .build();
+    }
+
+    Mono<ServerResponse> list(ServerRequest request) {
+        MediaType type = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok()
+                .contentType(type)
+                .body(reader.all(), ProductResponse.class);
+    }
+
+    Mono<ServerResponse> get(ServerRequest request) {
+        String id = request.pathVariable("id");
+        return reader.get(id)
+                .flatMap(product -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(product))
+                .switchIfEmpty(Mono.defer(() -> notFound(id)));
+    }
+
+    // Same body as GlobalExceptionHandler gives the MVC endpoint
+    private Mono<ServerResponse> notFound(String id) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("status", 404);
+        error.put("error", "Not Found");
+        error.put("message", new ProductNotFoundException(id, "retrieval").getMessage());
+        return ServerResponse.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).bodyValue(error);
+    }
+}
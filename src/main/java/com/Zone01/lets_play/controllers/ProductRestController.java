@@ -1,38 +1,127 @@
 package com.Zone01.lets_play.controllers;
 
+import com.Zone01.lets_play.Mongo_repisitory.ProductFilter;
 import com.Zone01.lets_play.dto.ProductDtos.*;
+import com.Zone01.lets_play.service.ProductBatchService;
 import com.Zone01.lets_play.service.ProductService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import jakarta.annotation.security.PermitAll;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductRestController {
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String LEGACY_LIST_SUCCESSORS =
+            "</api/products?size=20>; rel=\"successor-version\", </api/products/export>; rel=\"alternate\"; type=\"" + NDJSON + "\"";
+
     private final ProductService service;
+    private final ProductBatchService batchService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ProductRestController(ProductService service) {
+    public ProductRestController(ProductService service, ProductBatchService batchService, ObjectMapper objectMapper) {
         this.service = service;
+        this.batchService = batchService;
+        this.objectMapper = objectMapper;
     }
 
-    // Public - accessible without authentication
+    // Public - accessible without authentication.
+    // Without query parameters (deprecated): at most product-listing.max-items products in _id order,
+    // ETag'd by catalog version so If-None-Match is answered before the listing is built; the whole
+    // catalog is only available from /export. With any of size/cursor/sort/minPrice/maxPrice/owner:
+    // one keyset page, filtered and sorted in Mongo.
     @PermitAll
     @GetMapping
-    public List<ProductResponse> list() {
-        return service.publicList();
+    public ResponseEntity<?> list(@RequestParam(required = false) Integer size,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) String sort,
+                                  @RequestParam(required = false) Double minPrice,
+                                  @RequestParam(required = false) Double maxPrice,
+                                  @RequestParam(required = false) String owner,
+                                  WebRequest request) {
+        ProductFilter filter = new ProductFilter(minPrice, maxPrice, owner);
+        if (size != null || cursor != null || sort != null || !filter.isEmpty()) {
+            return ResponseEntity.ok(service.page(filter, sort, cursor, size));
+        }
+
+        long version = service.catalogVersion();
+        String etag = "\"catalog-" + version + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, LEGACY_LIST_SUCCESSORS)
+                .body(service.publicList(version));
+    }
+
+    // Public - relevance-ranked full-text search over name and description
+    @PermitAll
+    @GetMapping("/search")
+    public ProductSearchPage search(@RequestParam(required = false) String q,
+                                    @RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(defaultValue = "20") int size) {
+        return service.search(q, page, size);
+    }
+
+    // Public - full catalog as newline-delimited JSON, written batch by batch from a Mongo cursor
+    @PermitAll
+    @GetMapping("/export")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        // Flush once per batch rather than after every value
+        ObjectWriter writer = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);
+            service.exportAll(batch -> {
+                try {
+                    for (ProductResponse product : batch) {
+                        writer.writeValue(gen, product);
+                        gen.writeRaw('\n');
+                    }
+                    gen.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
     }
 
     // Public - accessible without authentication
     @PermitAll
     @GetMapping("/{id}")
-    public ProductResponse get(@PathVariable String id) {
-        return service.get(id);
+    public ResponseEntity<ProductResponse> get(@PathVariable String id, WebRequest request) {
+        ProductResponse product = service.get(id);
+        if (request.checkNotModified(etagOf(product))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(product);
     }
 
     @PreAuthorize("isAuthenticated()")
@@ -43,6 +132,14 @@ public class ProductRestController {
         return ResponseEntity.status(201).body(service.create(req, userId));
     }
 
+    // Per-item outcomes are in the body; the request itself only fails when the batch is empty or too large
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/batch")
+    public ProductBatchResponse batch(@RequestBody ProductBatchRequest req, Authentication auth) {
+        boolean isAdmin = auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        return batchService.apply(req, auth.getName(), isAdmin);
+    }
+
     @PreAuthorize("isAuthenticated()")
     @PutMapping("/{id}")
     public ProductResponse update(@PathVariable String id,
@@ -59,4 +156,16 @@ public class ProductRestController {
         service.delete(id, auth.getName(), isAdmin);
         return ResponseEntity.noContent().build();
     }
+
+    // Strong ETag over the fields of the representation; cheaper than serializing it
+    private static String etagOf(ProductResponse p) {
+        String content = String.join("\u0000", p.id(), String.valueOf(p.name()), String.valueOf(p.description()),
+                Double.toString(p.price()), String.valueOf(p.userId()), String.valueOf(p.ownerName()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package com.Zone01.lets_play.controllers;
 
 import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.exception.PasswordHashingBusyException;
 import com.Zone01.lets_play.models.User;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,11 +31,17 @@ public class RegistrationController { // renommé depuis authController pour év
     }
 
     @PostMapping("/register")
-    public String register(@Valid @ModelAttribute("user") User user, BindingResult result, Model model) {
-        log.info("[REGISTER] Incoming registration attempt: email='{}'", user != null ? user.getEmail() : "null");
+    public String register(@Valid @ModelAttribute("user") User user, BindingResult result, Model model,
+                           HttpServletResponse response) {
+        if (log.isDebugEnabled()) {
+            log.debug("[REGISTER] Incoming registration attempt: email='{}'", user != null ? user.getEmail() : "null");
+        }
 
         if (result.hasErrors()) {
-            log.warn("[REGISTER] Validation errors for email='{}': {}", user.getEmail(), result.getAllErrors());
+            // A client mistake, not a server problem: the field errors are only worth building at DEBUG
+            if (log.isDebugEnabled()) {
+                log.debug("[REGISTER] Validation errors for email='{}': {}", user.getEmail(), result.getAllErrors());
+            }
             model.addAttribute("errorMessage", "Please fix the validation errors below.");
             return "register";
         }
@@ -49,7 +57,6 @@ public class RegistrationController { // renommé depuis authController pour év
             // Normalize role: store without ROLE_ prefix, default to USER
             if (user.getRole() == null || user.getRole().isBlank()) {
                 user.setRole("USER");
-                log.debug("[REGISTER] No role provided. Defaulting to USER.");
             } else {
                 // Remove ROLE_ prefix if present and normalize
                 String role = user.getRole().replace("ROLE_", "").toUpperCase();
@@ -57,7 +64,6 @@ public class RegistrationController { // renommé depuis authController pour év
                     role = "USER"; // Default to USER for invalid roles
                 }
                 user.setRole(role);
-                log.debug("[REGISTER] Role normalized to: {}", user.getRole());
             }
 
             String rawPassword = user.getPassword();
@@ -67,13 +73,13 @@ public class RegistrationController { // renommé depuis authController pour év
                 model.addAttribute("errorMessage", "Password is required.");
                 return "register";
             }
-            log.debug("[REGISTER] Raw password length for email='{}': {}", user.getEmail(), rawPassword.length());
 
             user.setPassword(passwordEncoder.encode(rawPassword));
-            log.debug("[REGISTER] Password encoded for email='{}'", user.getEmail());
 
             userRepository.save(user);
-            log.info("[REGISTER] User successfully saved to MongoDB: id={}, email={}, role={}", user.getId(), user.getEmail(), user.getRole());
+            if (log.isInfoEnabled()) {
+                log.info("[REGISTER] User successfully saved to MongoDB: id={}, email={}, role={}", user.getId(), user.getEmail(), user.getRole());
+            }
             return "redirect:/login?registered";
         } catch (DuplicateKeyException dk) {
             // Handles race condition with unique index or direct duplicate insertion
@@ -81,6 +87,12 @@ public class RegistrationController { // renommé depuis authController pour év
             result.rejectValue("email", "email.exists", "Email already in use");
             model.addAttribute("errorMessage", "This email is already registered.");
             return "register";
+        } catch (PasswordHashingBusyException busy) {
+            log.warn("[REGISTER] Password hashing saturated, rejecting registration for email='{}'", user.getEmail());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(busy.getRetryAfterSeconds()));
+            model.addAttribute("errorMessage", "The server is busy. Please try again in a moment.");
+            return "register";
         } catch (Exception e) {
             log.error("[REGISTER] Exception while registering email='{}'", user.getEmail(), e);
             model.addAttribute("errorMessage", "Internal error occurred. Try again later.");
@@ -9,8 +9,15 @@ public class AuthDtos {
         @NotBlank String password
     ) {}
 
-    public record LoginResponse(
-        String token
+    public record RefreshRequest(
+        @NotBlank String refreshToken
+    ) {}
+
+    // Returned by login and refresh; expiresIn is the access token lifetime in seconds
+    public record TokenResponse(
+        String token,
+        long expiresIn,
+        String refreshToken
     ) {}
 }
 
@@ -2,6 +2,7 @@ package com.Zone01.lets_play.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 public class ProductDtos {
     public record CreateProductRequest(
@@ -22,4 +23,36 @@ public class ProductDtos {
             String userId,
             String ownerName
     ) {}
+    public record ProductPage(
+            List<ProductResponse> items,
+            String next
+    ) {}
+    public record ProductSearchPage(
+            String query,
+            List<ProductResponse> items,
+            int page,
+            Integer next // next page number, null on the last page
+    ) {}
+    // One batch operation: an update when id is set, a create otherwise
+    public record ProductBatchItem(
+            String id,
+            String name,
+            String description,
+            Double price
+    ) {}
+    public record ProductBatchRequest(
+            List<ProductBatchItem> operations
+    ) {}
+    public record ProductBatchResult(
+            int index,
+            int status, // 201 created, 200 updated, or the HTTP status of the per-item error
+            String id,
+            String error
+    ) {}
+    public record ProductBatchResponse(
+            int created,
+            int updated,
+            int failed,
+            List<ProductBatchResult> results
+    ) {}
 }
@@ -33,4 +33,11 @@ public class UserDtos {
             String email,
             String role
     ) {}
+
+    // Progress of the background removal of a deleted user's products
+    public record PurgeStatus(
+            String userId,
+            String state, // RUNNING, COMPLETED or FAILED
+            long deletedProducts
+    ) {}
 }
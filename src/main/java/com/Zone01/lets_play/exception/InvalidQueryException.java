@@ -0,0 +1,7 @@
+package com.Zone01.lets_play.exception;
+
+public class InvalidQueryException extends RuntimeException {
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+}
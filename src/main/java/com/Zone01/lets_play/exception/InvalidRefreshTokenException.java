@@ -0,0 +1,7 @@
+package com.Zone01.lets_play.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException() {
+        super("Refresh token is invalid, expired or already used");
+    }
+}
@@ -0,0 +1,18 @@
+package com.Zone01.lets_play.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// Thrown when the password hashing executor is saturated. It is an AuthenticationException
+// so that form login reaches its failure handler instead of failing with a 500.
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Server busy, try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
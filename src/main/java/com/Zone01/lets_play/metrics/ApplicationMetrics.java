@@ -0,0 +1,76 @@
+package com.Zone01.lets_play.metrics;
+
+import com.Zone01.lets_play.config.RateLimitingInterceptor;
+import com.Zone01.lets_play.security.JwtAuthenticationFilter;
+import com.Zone01.lets_play.security.JwtAuthenticationFilter.ParseFailure;
+import com.Zone01.lets_play.security.OffloadingPasswordEncoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the counters the security and rate-limiting components already keep
+ * (the same ones behind /web/admin/stats) as Micrometer meters, read at scrape time.
+ * HTTP request timers and Mongo command timers come from Spring Boot's own instrumentation;
+ * see the management.* properties.
+ */
+@Component
+public class ApplicationMetrics implements MeterBinder {
+
+    private final RateLimitingInterceptor rateLimiter;
+    private final OffloadingPasswordEncoder passwordEncoder;
+    private final JwtAuthenticationFilter jwtFilter;
+
+    public ApplicationMetrics(RateLimitingInterceptor rateLimiter, OffloadingPasswordEncoder passwordEncoder,
+                              JwtAuthenticationFilter jwtFilter) {
+        this.rateLimiter = rateLimiter;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtFilter = jwtFilter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("ratelimit.requests", rateLimiter, RateLimitingInterceptor::acceptedCount)
+                .tag("outcome", "accepted")
+                .description("Requests checked against a rate-limit bucket")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.requests", rateLimiter, RateLimitingInterceptor::rejectedCount)
+                .tag("outcome", "rejected")
+                .description("Requests checked against a rate-limit bucket")
+                .register(registry);
+        Gauge.builder("ratelimit.buckets", rateLimiter, RateLimitingInterceptor::liveBuckets)
+                .description("Client buckets currently held in memory")
+                .register(registry);
+
+        FunctionTimer.builder("security.password.hashing", passwordEncoder,
+                        OffloadingPasswordEncoder::hashCount, OffloadingPasswordEncoder::totalHashNanos, TimeUnit.NANOSECONDS)
+                .description("BCrypt encode/matches calls on the hashing pool")
+                .register(registry);
+        TimeGauge.builder("security.password.hashing.max", passwordEncoder, TimeUnit.MILLISECONDS,
+                        OffloadingPasswordEncoder::maxHashMillis)
+                .description("Slowest hash since startup")
+                .register(registry);
+        Gauge.builder("security.password.hashing.queue", passwordEncoder, OffloadingPasswordEncoder::queueDepth)
+                .description("Hashes waiting for a pool thread")
+                .register(registry);
+        Gauge.builder("security.password.hashing.active", passwordEncoder, OffloadingPasswordEncoder::activeThreads)
+                .register(registry);
+        FunctionCounter.builder("security.password.hashing.rejected", passwordEncoder, OffloadingPasswordEncoder::rejectedCount)
+                .description("Hashes refused with 503 because the queue was full")
+                .register(registry);
+
+        for (ParseFailure reason : ParseFailure.values()) {
+            FunctionCounter.builder("security.jwt.parse.failures", jwtFilter, f -> f.parseFailures(reason))
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .description("Bearer tokens rejected by JwtAuthenticationFilter")
+                    .register(registry);
+        }
+    }
+}
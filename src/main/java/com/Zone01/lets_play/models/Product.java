@@ -5,20 +5,34 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 @Document(collection = "products")
+// One (sort key, _id) index per listing order, and the same prefixed by owner for ?owner=.
+// owner_id also serves the lookups and deletes by userId.
+@CompoundIndexes({
+    @CompoundIndex(name = "price_id", def = "{'price': 1, '_id': 1}"),
+    @CompoundIndex(name = "name_id", def = "{'name': 1, '_id': 1}"),
+    @CompoundIndex(name = "owner_id", def = "{'userId': 1, '_id': 1}"),
+    @CompoundIndex(name = "owner_price_id", def = "{'userId': 1, 'price': 1, '_id': 1}"),
+    @CompoundIndex(name = "owner_name_id", def = "{'userId': 1, 'name': 1, '_id': 1}")
+})
 public class Product {
     @Id
     private String id;
 
     @NotBlank(message = "Product name is required")
     @Size(min = 2, max = 100, message = "Product name must be between 2 and 100 characters")
+    @TextIndexed(weight = 3) // a match in the name ranks above one in the description
     @Field("name")
     private String name;
 
     @Size(max = 500, message = "Description must not exceed 500 characters")
+    @TextIndexed
     @Field("description")
     private String description;
 
@@ -30,6 +44,10 @@ public class Product {
     @Field("userId")
     private String userId;
 
+    // Copy of the owner's name so reads need no users lookup; kept in sync by OwnerNameSync
+    @Field("ownerName")
+    private String ownerName;
+
     public String getId() {
         return id;
     }
@@ -69,4 +87,12 @@ public class Product {
     public void setUserId(String userId) {
         this.userId = userId;
     }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public void setOwnerName(String ownerName) {
+        this.ownerName = ownerName;
+    }
 }
@@ -0,0 +1,89 @@
+package com.Zone01.lets_play.models;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Background removal of a deleted user's products, shared by all instances and kept across restarts
+@Document(collection = "product_purges")
+public class ProductPurge {
+    @Id
+    private String userId;
+
+    private String ownerEmail;
+
+    // An _id taken when the account is deleted: only the owner's products up to it are removed. The
+    // email may be registered again while the purge runs, and that account's products come after it.
+    private ObjectId boundaryId;
+
+    // RUNNING and FAILED purges are resumed at startup
+    @Indexed
+    private String state;
+
+    private long deletedProducts;
+
+    private Instant startedAt;
+
+    // Set when the purge completes; the TTL index removes the record at that time
+    @Indexed(name = "expiresAt_ttl", expireAfter = "0s")
+    private Instant expiresAt;
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getOwnerEmail() {
+        return ownerEmail;
+    }
+
+    public void setOwnerEmail(String ownerEmail) {
+        this.ownerEmail = ownerEmail;
+    }
+
+    public ObjectId getBoundaryId() {
+        return boundaryId;
+    }
+
+    public void setBoundaryId(ObjectId boundaryId) {
+        this.boundaryId = boundaryId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public long getDeletedProducts() {
+        return deletedProducts;
+    }
+
+    public void setDeletedProducts(long deletedProducts) {
+        this.deletedProducts = deletedProducts;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -25,7 +25,6 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        log.debug("[LOGIN] Loading user by email='{}'", email);
         User u = users.findByEmail(email);
         if (u == null) {
             log.warn("[LOGIN] User not found for email='{}'", email);
@@ -37,7 +36,9 @@ public class CustomUserDetailsService implements UserDetailsService {
         // Remove ROLE_ prefix if already present, then add it
         role = role.replace("ROLE_", "");
         List<GrantedAuthority> auth = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-        log.debug("[LOGIN] User loaded: id={}, email={}, role={}", u.getId(), u.getEmail(), role);
+        if (log.isDebugEnabled()) {
+            log.debug("[LOGIN] User loaded: id={}, email={}, role={}", u.getId(), u.getEmail(), role);
+        }
         return org.springframework.security.core.userdetails.User
                 .withUsername(u.getEmail())
                 .password(u.getPassword())
@@ -2,6 +2,11 @@ package com.Zone01.lets_play.security;
 
 import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,6 +19,11 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,8 +32,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     private final JwtService jwtService;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository) {
+    public enum ParseFailure { EXPIRED, SIGNATURE, MALFORMED, OTHER }
+
+    private final Map<ParseFailure, LongAdder> parseFailures = new EnumMap<>(ParseFailure.class);
+
+    // At most one failure line per reason per interval; the failures in between are only counted
+    // and reported with the next line, so a burst of bad tokens does not become a burst of logging
+    private final long failureLogIntervalNanos;
+    private final Map<ParseFailure, AtomicLong> nextFailureLog = new EnumMap<>(ParseFailure.class);
+    private final Map<ParseFailure, LongAdder> suppressedFailures = new EnumMap<>(ParseFailure.class);
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository,
+                                   @Value("${spring.application.jwt.failure-log-interval:10s}") Duration failureLogInterval) {
         this.jwtService = jwtService;
+        this.failureLogIntervalNanos = failureLogInterval.toNanos();
+        long now = System.nanoTime();
+        for (ParseFailure reason : ParseFailure.values()) {
+            parseFailures.put(reason, new LongAdder());
+            nextFailureLog.put(reason, new AtomicLong(now));
+            suppressedFailures.put(reason, new LongAdder());
+        }
+    }
+
+    public long parseFailures(ParseFailure reason) {
+        return parseFailures.get(reason).sum();
     }
 
     @Override
@@ -52,10 +84,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 }
             } catch (Exception e) {
-                log.error("JWT Authentication failed: {}", e.getMessage());
+                ParseFailure reason = classify(e);
+                parseFailures.get(reason).increment();
+                logFailure(reason, e);
                 SecurityContextHolder.clearContext();
             }
         }
         chain.doFilter(request, response);
     }
+
+    private void logFailure(ParseFailure reason, Exception e) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        AtomicLong next = nextFailureLog.get(reason);
+        long due = next.get();
+        long now = System.nanoTime();
+        // Only the thread that moves the window forward logs
+        if (now - due < 0 || !next.compareAndSet(due, now + failureLogIntervalNanos)) {
+            suppressedFailures.get(reason).increment();
+            return;
+        }
+        long suppressed = suppressedFailures.get(reason).sumThenReset();
+        if (suppressed == 0) {
+            log.warn("[JWT] Authentication failed ({}): {}", reason, e.getMessage());
+        } else {
+            log.warn("[JWT] Authentication failed ({}): {} ({} more since the last report)", reason, e.getMessage(), suppressed);
+        }
+    }
+
+    private static ParseFailure classify(Exception e) {
+        if (e instanceof ExpiredJwtException) {
+            return ParseFailure.EXPIRED;
+        }
+        if (e instanceof SecurityException) {
+            return ParseFailure.SIGNATURE;
+        }
+        if (e instanceof MalformedJwtException || e instanceof UnsupportedJwtException || e instanceof IllegalArgumentException) {
+            return ParseFailure.MALFORMED;
+        }
+        return ParseFailure.OTHER;
+    }
 }
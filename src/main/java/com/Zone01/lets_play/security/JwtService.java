@@ -1,41 +1,109 @@
 package com.Zone01.lets_play.security;
 
 import com.Zone01.lets_play.models.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtService {
     // Secret >= 32 bytes for HS256
     private static final String SECRET = "SuperSecretKeyForJwtGeneration123456!"; // 38 chars
-    private static final long EXPIRATION = 1000L * 60 * 60 * 24; // 24h
     private final Key signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    // The parser is immutable and thread-safe, build it once
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // Claims of tokens that already passed signature verification, keyed by a SHA-256
+    // digest of the raw token and dropped when the token itself expires
+    private final Cache<String, Claims> verified;
+    // Access tokens are short-lived; clients renew them with a refresh token (RefreshTokenService)
+    private final Duration accessTokenTtl;
+
+    public JwtService(@Value("${spring.application.jwt.verified-cache.max-size:10000}") long verifiedCacheSize,
+                      @Value("${spring.application.jwt.access-token-ttl:15m}") Duration accessTokenTtl) {
+        this.accessTokenTtl = accessTokenTtl;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        Date exp = claims.getExpiration();
+                        long millis = exp == null ? 0 : exp.getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
 
     public String generateToken(User user) {
+        return generateToken(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    // For callers that already hold the user's summary and need no User document
+    public String generateToken(String id, String email, String role) {
         // Normalize role: remove ROLE_ prefix if present, store only USER/ADMIN
-        String role = user.getRole() != null ? user.getRole().replace("ROLE_", "").toUpperCase() : "USER";
+        role = role != null ? role.replace("ROLE_", "").toUpperCase() : "USER";
         return Jwts.builder()
-                .setSubject(user.getEmail())
-                .claim("id", user.getId())
+                .setSubject(email)
+                .claim("id", id)
                 .claim("role", role)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenTtl.toMillis()))
                 .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public Duration accessTokenTtl() {
+        return accessTokenTtl;
+    }
+
     public Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        // Invalid tokens throw from the loader and are never cached
+        return verified.get(digest(token), key -> parser.parseClaimsJws(token).getBody());
+    }
+
+    public CacheStats verifiedCacheStats() {
+        return verified.stats();
+    }
+
+    public long verifiedCacheSize() {
+        return verified.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
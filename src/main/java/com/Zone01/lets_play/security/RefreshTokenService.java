@@ -0,0 +1,91 @@
+package com.Zone01.lets_play.security;
+
+import com.Zone01.lets_play.Mongo_repisitory.RefreshTokenRepository;
+import com.Zone01.lets_play.dto.AuthDtos.TokenResponse;
+import com.Zone01.lets_play.dto.UserDtos.UserResponse;
+import com.Zone01.lets_play.exception.InvalidRefreshTokenException;
+import com.Zone01.lets_play.models.RefreshToken;
+import com.Zone01.lets_play.service.UserSummaryCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Long-lived, single-use refresh tokens for the short-lived JWT access tokens.
+ * Only a SHA-256 digest of each token is stored, with a TTL index on its expiry, and
+ * redeeming one deletes it and issues a new pair (rotation). The user's current role is
+ * re-read on every refresh, so a role change or deletion applies within one access token lifetime.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository tokens;
+    private final UserSummaryCache users;
+    private final JwtService jwtService;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository tokens, UserSummaryCache users, JwtService jwtService,
+                               @Value("${spring.application.jwt.refresh-token-ttl:14d}") Duration ttl) {
+        this.tokens = tokens;
+        this.users = users;
+        this.jwtService = jwtService;
+        this.ttl = ttl;
+    }
+
+    public TokenResponse issue(String userId, String email, String role) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        RefreshToken stored = new RefreshToken();
+        stored.setTokenHash(hash(raw));
+        stored.setUserId(userId);
+        stored.setEmail(email);
+        stored.setCreatedAt(now);
+        stored.setExpiresAt(now.plus(ttl));
+        tokens.insert(stored);
+
+        return new TokenResponse(jwtService.generateToken(userId, email, role),
+                jwtService.accessTokenTtl().toSeconds(), raw);
+    }
+
+    public TokenResponse refresh(String rawToken) {
+        // The TTL monitor runs about once a minute, so expiry is checked here as well
+        RefreshToken stored = rawToken == null ? null : tokens.deleteByTokenHash(hash(rawToken));
+        if (stored == null || stored.getExpiresAt().isBefore(Instant.now())) {
+            throw new InvalidRefreshTokenException();
+        }
+        UserResponse user = users.get(stored.getEmail());
+        if (user == null || !user.id().equals(stored.getUserId())) {
+            throw new InvalidRefreshTokenException();
+        }
+        return issue(user.id(), user.email(), user.role());
+    }
+
+    public void revoke(String rawToken) {
+        if (rawToken != null) {
+            tokens.deleteByTokenHash(hash(rawToken));
+        }
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
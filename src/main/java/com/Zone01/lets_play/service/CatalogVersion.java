@@ -0,0 +1,38 @@
+package com.Zone01.lets_play.service;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monotonic version of the public product catalog, kept in a one-document
+ * "catalog_meta" collection so every instance sees the same value. Every write
+ * that changes what GET /api/products returns must call {@link #bump()}.
+ */
+@Component
+public class CatalogVersion {
+
+    private static final String COLLECTION = "catalog_meta";
+    private static final String PRODUCTS = "products";
+
+    private final MongoTemplate mongo;
+
+    public CatalogVersion(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    public long current() {
+        Document doc = mongo.findById(PRODUCTS, Document.class, COLLECTION);
+        if (doc == null || !(doc.get("version") instanceof Number version)) {
+            return 0L;
+        }
+        return version.longValue();
+    }
+
+    public void bump() {
+        mongo.upsert(Query.query(Criteria.where("_id").is(PRODUCTS)), new Update().inc("version", 1L), COLLECTION);
+    }
+}
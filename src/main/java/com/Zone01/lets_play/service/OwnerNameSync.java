@@ -0,0 +1,153 @@
+package com.Zone01.lets_play.service;
+
+import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.models.User;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the ownerName copied onto products in line with the users collection.
+ * A rename is fanned out on the application task executor with one updateMany, so the
+ * request that renamed the user does not wait for it and listings never join users.
+ * Products are written with the name read from users, never from a cached copy, and the
+ * written products are re-checked afterwards so a rename racing the write cannot leave
+ * them stale. Only renames fan out to all of an owner's products.
+ * The backfill fills in products written before ownerName existed.
+ */
+@Service
+public class OwnerNameSync {
+
+    private static final Logger log = LoggerFactory.getLogger(OwnerNameSync.class);
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final ObjectId BEFORE_FIRST_ID = new ObjectId(new byte[12]);
+
+    private final ProductRepository products;
+    private final UserRepository users;
+    private final ProductCache productCache;
+    private final CatalogVersion catalogVersion;
+    private final TaskExecutor executor;
+    private final boolean backfillOnStartup;
+
+    public OwnerNameSync(ProductRepository products, UserRepository users, ProductCache productCache,
+                         CatalogVersion catalogVersion, TaskExecutor executor,
+                         @Value("${spring.application.owner-name.backfill-on-startup:false}") boolean backfillOnStartup) {
+        this.products = products;
+        this.users = users;
+        this.productCache = productCache;
+        this.catalogVersion = catalogVersion;
+        this.executor = executor;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    public void propagateInBackground(String ownerEmail) {
+        executor.execute(() -> {
+            try {
+                propagate(ownerEmail);
+            } catch (RuntimeException e) {
+                log.error("[OWNER-NAME] Failed to propagate the name of {}", ownerEmail, e);
+            }
+        });
+    }
+
+    public void recheckInBackground(String ownerEmail, Collection<String> productIds) {
+        executor.execute(() -> {
+            try {
+                recheck(ownerEmail, productIds);
+            } catch (RuntimeException e) {
+                log.error("[OWNER-NAME] Failed to re-check the name on new products of {}", ownerEmail, e);
+            }
+        });
+    }
+
+    // The name to store on a product being written; null when the owner is unknown
+    public String currentName(String ownerEmail) {
+        User owner = users.findNameByEmail(ownerEmail);
+        return owner != null ? owner.getName() : null;
+    }
+
+    // Re-reads the name when it runs, so two quick renames cannot leave the older one behind
+    public long propagate(String ownerEmail) {
+        String name = currentName(ownerEmail);
+        if (name == null) {
+            return 0;
+        }
+        long modified = products.setOwnerNames(Map.of(ownerEmail, name));
+        if (modified > 0) {
+            catalogVersion.bump();
+            productCache.evictOwner(ownerEmail);
+        }
+        return modified;
+    }
+
+    // Brings just-written products up to the current name; costs one _id lookup per product
+    public long recheck(String ownerEmail, Collection<String> productIds) {
+        String name = currentName(ownerEmail);
+        if (name == null || productIds.isEmpty()) {
+            return 0;
+        }
+        long modified = products.setOwnerName(ownerEmail, productIds, name);
+        if (modified > 0) {
+            catalogVersion.bump();
+            productIds.forEach(productCache::evict);
+        }
+        return modified;
+    }
+
+    /**
+     * Sets ownerName on every product that lacks it or carries a stale one, walking the
+     * users by _id in pages with one bulk write per page. Each page starts after the last
+     * _id seen rather than skipping, and reads only email and name. Safe to run again:
+     * up-to-date products are not rewritten.
+     */
+    public long backfill() {
+        long modified = 0;
+        ObjectId last = BEFORE_FIRST_ID;
+        while (true) {
+            List<User> page = users.findNamesAfter(last, PageRequest.ofSize(BACKFILL_BATCH_SIZE));
+            Map<String, String> names = new HashMap<>();
+            for (User u : page) {
+                if (u.getEmail() != null && u.getName() != null) {
+                    names.put(u.getEmail(), u.getName());
+                }
+            }
+            modified += products.setOwnerNames(names);
+            if (page.size() < BACKFILL_BATCH_SIZE) {
+                break;
+            }
+            last = new ObjectId(page.get(page.size() - 1).getId());
+        }
+        if (modified > 0) {
+            catalogVersion.bump();
+            productCache.invalidateAll();
+        }
+        return modified;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                long modified = backfill();
+                log.info("[OWNER-NAME] Backfill set the owner name on {} products", modified);
+            } catch (RuntimeException e) {
+                log.error("[OWNER-NAME] Backfill failed", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,185 @@
+package com.Zone01.lets_play.service;
+
+import com.Zone01.lets_play.Mongo_repisitory.ProductBulkResult;
+import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.dto.ProductDtos.*;
+import com.Zone01.lets_play.exception.InvalidQueryException;
+import com.Zone01.lets_play.models.Product;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many product creates and updates with a single unordered bulk write instead of
+ * one round trip per product. Each operation is validated and ownership-checked on its own
+ * (same rules as {@link ProductService}), and reported in its own result: a rejected or
+ * failed item never aborts the rest of the batch.
+ */
+@Service
+public class ProductBatchService {
+
+    private final ProductRepository repo;
+    private final OwnerNameSync ownerNames;
+    private final ProductCache cache;
+    private final CatalogVersion catalogVersion;
+    private final Validator validator;
+    private final int maxOperations;
+
+    public ProductBatchService(ProductRepository repo, OwnerNameSync ownerNames, ProductCache cache, CatalogVersion catalogVersion,
+                               Validator validator,
+                               @Value("${spring.application.product-batch.max-operations:1000}") int maxOperations) {
+        this.repo = repo;
+        this.ownerNames = ownerNames;
+        this.cache = cache;
+        this.catalogVersion = catalogVersion;
+        this.validator = validator;
+        this.maxOperations = maxOperations;
+    }
+
+    public ProductBatchResponse apply(ProductBatchRequest req, String requesterUserId, boolean isAdmin) {
+        List<ProductBatchItem> ops = req == null ? null : req.operations();
+        if (ops == null || ops.isEmpty()) {
+            throw new InvalidQueryException("Batch must contain at least one operation");
+        }
+        if (ops.size() > maxOperations) {
+            throw new InvalidQueryException("Batch must not contain more than " + maxOperations + " operations");
+        }
+
+        ProductBatchResult[] results = new ProductBatchResult[ops.size()];
+        Map<String, Product> targets = loadTargets(ops);
+        String requesterName = ownerNames.currentName(requesterUserId);
+        Set<String> seenIds = new HashSet<>();
+        List<Product> inserts = new ArrayList<>();
+        List<Integer> insertIndexes = new ArrayList<>();
+        List<Product> updates = new ArrayList<>();
+        List<Integer> updateIndexes = new ArrayList<>();
+
+        for (int i = 0; i < ops.size(); i++) {
+            ProductBatchItem op = ops.get(i);
+            String invalid = validate(op);
+            if (invalid != null) {
+                results[i] = new ProductBatchResult(i, 400, op == null ? null : op.id(), invalid);
+                continue;
+            }
+            if (op.id() == null) {
+                Product p = new Product();
+                p.setId(new ObjectId().toHexString()); // assigned up front so the result can report it
+                apply(p, op);
+                p.setUserId(requesterUserId);
+                p.setOwnerName(requesterName);
+                inserts.add(p);
+                insertIndexes.add(i);
+                continue;
+            }
+            Product p = targets.get(op.id());
+            if (p == null) {
+                results[i] = new ProductBatchResult(i, 404, op.id(), "Product not found");
+            } else if (!ProductService.mayModify(p, requesterUserId, isAdmin)) {
+                results[i] = new ProductBatchResult(i, 403, op.id(), "Not owner of product");
+            } else if (!seenIds.add(op.id())) {
+                results[i] = new ProductBatchResult(i, 400, op.id(), "Product updated more than once in this batch");
+            } else {
+                apply(p, op);
+                updates.add(p);
+                updateIndexes.add(i);
+            }
+        }
+
+        ProductBulkResult bulk = repo.bulkWrite(inserts, updates);
+        Set<String> vanished = bulk.matchedUpdates() < updates.size() - countFailures(bulk, inserts.size())
+                ? deletedMeanwhile(updates)
+                : Set.of();
+
+        List<String> createdIds = new ArrayList<>();
+        int updated = 0;
+        for (int w = 0; w < inserts.size(); w++) {
+            int i = insertIndexes.get(w);
+            String error = bulk.failures().get(w);
+            results[i] = error == null
+                    ? new ProductBatchResult(i, 201, inserts.get(w).getId(), null)
+                    : new ProductBatchResult(i, 500, null, error);
+            if (error == null) createdIds.add(inserts.get(w).getId());
+        }
+        int created = createdIds.size();
+        for (int u = 0; u < updates.size(); u++) {
+            int i = updateIndexes.get(u);
+            String id = updates.get(u).getId();
+            String error = bulk.failures().get(inserts.size() + u);
+            if (error != null) {
+                results[i] = new ProductBatchResult(i, 500, id, error);
+            } else if (vanished.contains(id)) {
+                results[i] = new ProductBatchResult(i, 404, id, "Product not found");
+            } else {
+                results[i] = new ProductBatchResult(i, 200, id, null);
+                updated++;
+                cache.evict(id);
+            }
+        }
+        if (created + updated > 0) {
+            catalogVersion.bump();
+        }
+        if (created > 0) {
+            ownerNames.recheckInBackground(requesterUserId, createdIds);
+        }
+        return new ProductBatchResponse(created, updated, ops.size() - created - updated, List.of(results));
+    }
+
+    // Every update target in one query rather than one findById per item
+    private Map<String, Product> loadTargets(List<ProductBatchItem> ops) {
+        Set<String> ids = ops.stream()
+                .filter(op -> op != null && op.id() != null)
+                .map(ProductBatchItem::id)
+                .collect(Collectors.toSet());
+        Map<String, Product> targets = new HashMap<>();
+        if (!ids.isEmpty()) {
+            repo.findAllById(ids).forEach(p -> targets.put(p.getId(), p));
+        }
+        return targets;
+    }
+
+    // Same constraints as a single create/update request, plus a required price
+    private String validate(ProductBatchItem op) {
+        if (op == null) {
+            return "Operation is empty";
+        }
+        if (op.price() == null) {
+            return "price: is required";
+        }
+        Set<ConstraintViolation<CreateProductRequest>> violations =
+                validator.validate(new CreateProductRequest(op.name(), op.description(), op.price()));
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static void apply(Product p, ProductBatchItem op) {
+        p.setName(ProductService.s(op.name()));
+        p.setDescription(ProductService.s(op.description()));
+        p.setPrice(op.price());
+    }
+
+    private static int countFailures(ProductBulkResult bulk, int firstUpdate) {
+        return (int) bulk.failures().keySet().stream().filter(w -> w >= firstUpdate).count();
+    }
+
+    // An update matched fewer documents than expected: a target was deleted after it was loaded
+    private Set<String> deletedMeanwhile(List<Product> updates) {
+        Set<String> missing = updates.stream().map(Product::getId).collect(Collectors.toCollection(HashSet::new));
+        repo.findAllById(missing).forEach(p -> missing.remove(p.getId()));
+        return missing;
+    }
+}
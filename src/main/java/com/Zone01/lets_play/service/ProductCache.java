@@ -0,0 +1,98 @@
+package com.Zone01.lets_play.service;
+
+import com.Zone01.lets_play.Mongo_repisitory.ProductFilter;
+import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.Mongo_repisitory.ProductSort;
+import com.Zone01.lets_play.models.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read-through near-cache in front of ProductRepository for the public read paths.
+ * Concurrent misses on the same key are coalesced into one Mongo read.
+ * Cached instances are shared and must not be mutated; writes go to the repository
+ * and then evict through ProductService.
+ */
+@Component
+public class ProductCache {
+
+    private static final String ALL = "all";
+
+    private final ProductRepository repo;
+    private final int listingLimit;
+    private final Cache<String, Product> byId;
+    private final Cache<String, Listing> listing;
+
+    // The listing remembers the catalog version it was loaded at, so it can never
+    // be served under a newer version's ETag.
+    private record Listing(long version, List<Product> products) {}
+
+    public ProductCache(ProductRepository repo,
+                        @Value("${spring.application.product-cache.max-size:10000}") long maxSize,
+                        @Value("${spring.application.product-cache.ttl:30s}") Duration ttl,
+                        @Value("${spring.application.product-listing.max-items:1000}") int listingLimit) {
+        this.repo = repo;
+        this.listingLimit = listingLimit;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.listing = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Product get(String id) {
+        return byId.get(id, key -> repo.findById(key).orElse(null));
+    }
+
+    /**
+     * Returns the unpaged listing as of at least {@code version}: the first
+     * {@code product-listing.max-items} products in _id order, never the whole catalog.
+     * The version must be read before calling, so the products returned are never older
+     * than the version.
+     */
+    public List<Product> all(long version) {
+        Listing current = listing.getIfPresent(ALL);
+        if (current != null && current.version() >= version) {
+            return current.products();
+        }
+        return listing.asMap().compute(ALL, (key, existing) ->
+                existing != null && existing.version() >= version
+                        ? existing
+                        : new Listing(version, List.copyOf(
+                                repo.findPage(ProductFilter.NONE, ProductSort.ID, null, null, listingLimit)))).products();
+    }
+
+    public void evict(String id) {
+        byId.invalidate(id);
+        listing.invalidateAll();
+    }
+
+    public void evictOwner(String ownerEmail) {
+        byId.asMap().values().removeIf(p -> ownerEmail.equals(p.getUserId()));
+        listing.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        listing.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return byId.stats().plus(listing.stats());
+    }
+
+    public long size() {
+        return byId.estimatedSize();
+    }
+}
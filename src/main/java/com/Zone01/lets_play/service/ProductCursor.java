@@ -0,0 +1,55 @@
+package com.Zone01.lets_play.service;
+
+import com.Zone01.lets_play.Mongo_repisitory.ProductSort;
+import com.Zone01.lets_play.exception.InvalidQueryException;
+import com.Zone01.lets_play.models.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque pagination cursor: the sort order plus the sort key and id of the last
+ * row returned, base64url-encoded so clients treat it as a token.
+ * The key is the price for PRICE, the name for NAME and absent for the _id orders.
+ */
+record ProductCursor(ProductSort sort, Object key, String id) {
+
+    static ProductCursor after(ProductSort sort, Product last) {
+        Object key = switch (sort) {
+            case PRICE -> last.getPrice();
+            case NAME -> last.getName();
+            case ID, NEWEST -> null;
+        };
+        return new ProductCursor(sort, key, last.getId());
+    }
+
+    String encode() {
+        String raw = sort.name() + "|" + (key != null ? key : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // A name may itself contain '|', so the key is whatever lies between the first and last one
+            int first = raw.indexOf('|');
+            int last = raw.lastIndexOf('|');
+            if (first < 0 || first == last || raw.substring(last + 1).isBlank()) {
+                throw new InvalidQueryException("Invalid cursor");
+            }
+            ProductSort sort = ProductSort.valueOf(raw.substring(0, first));
+            String rawKey = raw.substring(first + 1, last);
+            Object key = switch (sort) {
+                case PRICE -> rawKey.isEmpty() ? null : Double.valueOf(rawKey);
+                case NAME -> rawKey;
+                case ID, NEWEST -> null;
+            };
+            if (sort == ProductSort.PRICE && key == null) {
+                throw new InvalidQueryException("Invalid cursor");
+            }
+            return new ProductCursor(sort, key, raw.substring(last + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.Zone01.lets_play.service;
+
+import com.Zone01.lets_play.Mongo_repisitory.ProductPurgeRepository;
+import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.dto.UserDtos.PurgeStatus;
+import com.Zone01.lets_play.models.ProductPurge;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Removes all products of a user, either inline or on the application task executor.
+ * A background purge is one deleteMany on the owner's email bounded by an _id taken when the
+ * account is deleted, never "everything owned by this email", so an account registered again
+ * with the same email keeps its products. Its state lives in the product_purges collection:
+ * any instance can report it, for an hour after it completes, and purges that failed or were
+ * interrupted by a restart are retried at startup.
+ */
+@Service
+public class ProductPurgeService {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private static final Logger log = LoggerFactory.getLogger(ProductPurgeService.class);
+    private static final Duration STATUS_RETENTION = Duration.ofHours(1);
+
+    private final ProductRepository products;
+    private final ProductPurgeRepository purges;
+    private final ProductCache productCache;
+    private final CatalogVersion catalogVersion;
+    private final TaskExecutor executor;
+
+    public ProductPurgeService(ProductRepository products, ProductPurgeRepository purges, ProductCache productCache,
+                               CatalogVersion catalogVersion, TaskExecutor executor) {
+        this.products = products;
+        this.purges = purges;
+        this.productCache = productCache;
+        this.catalogVersion = catalogVersion;
+        this.executor = executor;
+    }
+
+    public long purge(String ownerEmail) {
+        long deleted = products.deleteByUserId(ownerEmail);
+        catalogVersion.bump();
+        productCache.evictOwner(ownerEmail);
+        return deleted;
+    }
+
+    /**
+     * Records the purge before the account is deleted, so a crash in between still leaves it to
+     * be resumed; the purge itself starts with {@link #start(ProductPurge)} once the account is gone.
+     */
+    public ProductPurge prepare(String userId, String ownerEmail) {
+        ProductPurge purge = new ProductPurge();
+        purge.setUserId(userId);
+        purge.setOwnerEmail(ownerEmail);
+        purge.setState(RUNNING);
+        purge.setStartedAt(Instant.now());
+        return purges.save(purge);
+    }
+
+    public PurgeStatus start(ProductPurge purge) {
+        if (purge.getBoundaryId() == null) {
+            // Covers products the owner created up to the deletion, also after prepare
+            purge.setBoundaryId(new ObjectId());
+            purges.save(purge);
+        }
+        executor.execute(() -> run(purge));
+        return toStatus(purge);
+    }
+
+    public PurgeStatus status(String userId) {
+        return purges.findById(userId).map(ProductPurgeService::toStatus).orElse(null);
+    }
+
+    // The bounded delete is idempotent, so resuming a purge another instance is still running is harmless
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (ProductPurge purge : purges.findByStateIn(List.of(RUNNING, FAILED))) {
+            log.info("[PURGE] Resuming {} product purge of user id={}", purge.getState(), purge.getUserId());
+            if (purge.getBoundaryId() == null) {
+                // Stopped between prepare and start: the email may have been registered again since,
+                // so only products older than the prepare are certainly the deleted account's
+                purge.setBoundaryId(ObjectId.getSmallestWithDate(Date.from(purge.getStartedAt())));
+            }
+            purge.setState(RUNNING);
+            start(purge);
+        }
+    }
+
+    private void run(ProductPurge purge) {
+        try {
+            long deleted = products.deleteByUserIdUpTo(purge.getOwnerEmail(), purge.getBoundaryId());
+            catalogVersion.bump();
+            productCache.evictOwner(purge.getOwnerEmail());
+            finish(purge, COMPLETED, deleted);
+        } catch (RuntimeException e) {
+            log.error("[PURGE] Failed to delete products of user id={}, retried at next startup", purge.getUserId(), e);
+            finish(purge, FAILED, 0);
+        }
+    }
+
+    // A failed purge keeps its record (no expiry) so it can be retried
+    private void finish(ProductPurge purge, String state, long deleted) {
+        purge.setState(state);
+        purge.setDeletedProducts(deleted);
+        purge.setExpiresAt(COMPLETED.equals(state) ? Instant.now().plus(STATUS_RETENTION) : null);
+        purges.save(purge);
+    }
+
+    private static PurgeStatus toStatus(ProductPurge purge) {
+        return new PurgeStatus(purge.getUserId(), purge.getState(), purge.getDeletedProducts());
+    }
+}
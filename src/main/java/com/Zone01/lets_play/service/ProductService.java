@@ -1,27 +1,51 @@
 package com.Zone01.lets_play.service;
 
+import com.Zone01.lets_play.Mongo_repisitory.ProductFilter;
 import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
-import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.Mongo_repisitory.ProductSort;
 import com.Zone01.lets_play.dto.ProductDtos.*;
+import com.Zone01.lets_play.dto.UserDtos.UserResponse;
 import com.Zone01.lets_play.exception.ProductNotFoundException;
 import com.Zone01.lets_play.exception.AccessDeniedBusinessException;
+import com.Zone01.lets_play.exception.InvalidQueryException;
 import com.Zone01.lets_play.models.Product;
-import com.Zone01.lets_play.models.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ProductService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_BATCH_SIZE = 500;
+    // Relevance order cannot be seeked, so search pages skip; cap how deep they may go
+    private static final int MAX_SEARCH_HITS = 1000;
+
     private final ProductRepository repo;
-    private final UserRepository userRepo;
+    private final ProductCache cache;
+    private final UserSummaryCache owners;
+    private final CatalogVersion catalogVersion;
+    private final OwnerNameSync ownerNameSync;
 
     @Autowired
-    public ProductService(ProductRepository repo, UserRepository userRepo) {
+    public ProductService(ProductRepository repo, ProductCache cache, UserSummaryCache owners,
+                          CatalogVersion catalogVersion, OwnerNameSync ownerNameSync) {
         this.repo = repo;
-        this.userRepo = userRepo;
+        this.cache = cache;
+        this.owners = owners;
+        this.catalogVersion = catalogVersion;
+        this.ownerNameSync = ownerNameSync;
     }
 
     @Transactional
@@ -31,16 +55,94 @@ public class ProductService {
         p.setDescription(s(req.description()));
         p.setPrice(req.price());
         p.setUserId(ownerUserId);
+        p.setOwnerName(ownerNameSync.currentName(ownerUserId));
         repo.save(p);
+        catalogVersion.bump();
+        cache.evict(p.getId());
+        ownerNameSync.recheckInBackground(ownerUserId, List.of(p.getId()));
         return toResponse(p);
     }
 
+    public long catalogVersion() {
+        return catalogVersion.current();
+    }
+
     public List<ProductResponse> publicList() {
-        return repo.findAll().stream().map(this::toResponse).toList();
+        return publicList(catalogVersion.current());
+    }
+
+    // version must come from catalogVersion() read before this call
+    public List<ProductResponse> publicList(long version) {
+        return toResponses(cache.all(version));
+    }
+
+    /**
+     * One page of the products matching {@code filter}, filtered and ordered in Mongo.
+     * The filter is not part of the cursor: clients send the same filter with every page.
+     */
+    public ProductPage page(ProductFilter filter, String sort, String cursor, Integer size) {
+        if (filter.minPrice() != null && filter.maxPrice() != null && filter.minPrice() > filter.maxPrice()) {
+            throw new InvalidQueryException("minPrice must not be greater than maxPrice");
+        }
+        int limit = Math.max(1, Math.min(size != null ? size : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE));
+        ProductCursor after = (cursor == null || cursor.isBlank()) ? null : ProductCursor.decode(cursor);
+        ProductSort order = after != null ? after.sort() : parseSort(sort);
+
+        // Fetch one extra row to know whether a next page exists without a count query
+        List<Product> rows = repo.findPage(filter, order, after != null ? after.key() : null,
+                after != null ? after.id() : null, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<Product> items = hasMore ? rows.subList(0, limit) : rows;
+        String next = hasMore ? ProductCursor.after(order, items.get(items.size() - 1)).encode() : null;
+        return new ProductPage(toResponses(items), next);
+    }
+
+    public ProductSearchPage search(String q, int page, int size) {
+        if (q == null || q.isBlank()) {
+            throw new InvalidQueryException("Search query 'q' must not be blank");
+        }
+        if (page < 0) {
+            throw new InvalidQueryException("Page must not be negative");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long skip = (long) page * limit;
+        if (skip + limit > MAX_SEARCH_HITS) {
+            throw new InvalidQueryException("Only the first " + MAX_SEARCH_HITS + " results can be paged through, refine the search");
+        }
+
+        String text = q.trim();
+        List<Product> rows = repo.search(text, (int) skip, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<Product> items = hasMore ? rows.subList(0, limit) : rows;
+        return new ProductSearchPage(text, toResponses(items), page, hasMore ? page + 1 : null);
+    }
+
+    /**
+     * Walks the whole catalog through a Mongo cursor and hands it to {@code sink} in
+     * batches of {@value #EXPORT_BATCH_SIZE}, so memory stays bounded by one batch.
+     */
+    public void exportAll(Consumer<List<ProductResponse>> sink) {
+        try (Stream<Product> products = repo.streamAll(EXPORT_BATCH_SIZE)) {
+            List<Product> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+            products.forEachOrdered(p -> {
+                batch.add(p);
+                if (batch.size() == EXPORT_BATCH_SIZE) {
+                    sink.accept(toResponses(batch));
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                sink.accept(toResponses(batch));
+            }
+        }
     }
 
     public ProductResponse get(String id) {
-        return toResponse(find(id));
+        Product p = cache.get(id);
+        if (p == null) {
+            throw new ProductNotFoundException(id, "retrieval");
+        }
+        return toResponse(p);
     }
 
     @Transactional
@@ -51,6 +153,8 @@ public class ProductService {
         p.setDescription(s(req.description()));
         p.setPrice(req.price());
         repo.save(p);
+        catalogVersion.bump();
+        cache.evict(id);
         return toResponse(p);
     }
 
@@ -59,30 +163,74 @@ public class ProductService {
         Product p = find(id);
         checkOwnership(p, requesterUserId, isAdmin);
         repo.delete(p);
+        catalogVersion.bump();
+        cache.evict(id);
     }
 
+    // Writes always start from the stored document, never from a shared cached instance
     private Product find(String id) {
         return repo.findById(id).orElseThrow(() -> new ProductNotFoundException(id, "retrieval"));
     }
 
+    private ProductSort parseSort(String sort) {
+        try {
+            return ProductSort.from(sort);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException(e.getMessage());
+        }
+    }
+
     private void checkOwnership(Product p, String requesterUserId, boolean isAdmin) {
-        if (!isAdmin && (p.getUserId() == null || !p.getUserId().equals(requesterUserId))) {
+        if (!mayModify(p, requesterUserId, isAdmin)) {
             throw new AccessDeniedBusinessException("Not owner of product");
         }
     }
 
+    // Owners may modify their own products, admins any product
+    static boolean mayModify(Product p, String requesterUserId, boolean isAdmin) {
+        return isAdmin || (p.getUserId() != null && p.getUserId().equals(requesterUserId));
+    }
+
     private ProductResponse toResponse(Product p) {
-        String ownerName = "Unknown";
-        if (p.getUserId() != null) {
-            User owner = userRepo.findByEmail(p.getUserId());
-            if (owner != null && owner.getName() != null) {
-                ownerName = owner.getName();
-            }
+        return toResponse(p, resolveOwnerNames(List.of(p)));
+    }
+
+    // Owner names are resolved for the whole batch at once so a listing costs
+    // at most one users query (for cache misses) no matter how many products it contains.
+    private List<ProductResponse> toResponses(List<Product> products) {
+        Map<String, String> ownerNames = resolveOwnerNames(products);
+        return products.stream().map(p -> toResponse(p, ownerNames)).toList();
+    }
+
+    // Shared with ReactiveProductReader so both read paths render products identically
+    static ProductResponse toResponse(Product p, Map<String, String> ownerNames) {
+        String ownerName = p.getOwnerName();
+        if (ownerName == null) {
+            ownerName = p.getUserId() != null ? ownerNames.getOrDefault(p.getUserId(), "Unknown") : "Unknown";
         }
         return new ProductResponse(p.getId(), p.getName(), p.getDescription(), p.getPrice(), p.getUserId(), ownerName);
     }
 
-    private String s(String v) {
+    // Only products written before ownerName was stored (and not yet backfilled) need a users lookup
+    private Map<String, String> resolveOwnerNames(Collection<Product> products) {
+        Set<String> emails = products.stream()
+                .filter(p -> p.getOwnerName() == null)
+                .map(Product::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (emails.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> names = new HashMap<>();
+        for (UserResponse owner : owners.getAll(emails).values()) {
+            if (owner.name() != null) {
+                names.put(owner.email(), owner.name());
+            }
+        }
+        return names;
+    }
+
+    static String s(String v) {
         if (v == null) return null;
         return v.trim();
     }
@@ -0,0 +1,85 @@
+package com.Zone01.lets_play.service;
+
+import com.Zone01.lets_play.Mongo_repisitory.ReactiveProductRepository;
+import com.Zone01.lets_play.Mongo_repisitory.ReactiveUserRepository;
+import com.Zone01.lets_play.dto.ProductDtos.ProductResponse;
+import com.Zone01.lets_play.dto.UserDtos.UserResponse;
+import com.Zone01.lets_play.models.Product;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of ProductService's public reads, used by the reactive API.
+ * Products stream from a reactive Mongo cursor at the pace the client consumes them.
+ * Products carry their owner's name; for older ones without it, names are resolved per
+ * window of products: names already in UserSummaryCache are used as is, and the rest
+ * come from one reactive $in query that refills the cache.
+ */
+@Service
+public class ReactiveProductReader {
+
+    private static final int OWNER_WINDOW = 256;
+
+    private final ReactiveProductRepository products;
+    private final ReactiveUserRepository users;
+    private final UserSummaryCache owners;
+
+    public ReactiveProductReader(ReactiveProductRepository products, ReactiveUserRepository users,
+                                 UserSummaryCache owners) {
+        this.products = products;
+        this.users = users;
+        this.owners = owners;
+    }
+
+    public Flux<ProductResponse> all() {
+        // concatMap keeps the catalog order and only asks Mongo for the next window on demand
+        return products.findAll()
+                .buffer(OWNER_WINDOW)
+                .concatMap(this::withOwners);
+    }
+
+    public Mono<ProductResponse> get(String id) {
+        return products.findById(id)
+                .flatMap(p -> withOwners(List.of(p)).next());
+    }
+
+    private Flux<ProductResponse> withOwners(List<Product> batch) {
+        Set<String> emails = batch.stream()
+                .filter(p -> p.getOwnerName() == null)
+                .map(Product::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, UserResponse> known = owners.peekAll(emails);
+        List<String> missing = emails.stream().filter(e -> !known.containsKey(e)).toList();
+
+        Mono<Map<String, String>> names = missing.isEmpty()
+                ? Mono.just(namesOf(known.values()))
+                : users.findOwnersByEmailIn(missing)
+                        .map(owners::put)
+                        .collectList()
+                        .map(loaded -> {
+                            Map<String, String> all = namesOf(known.values());
+                            all.putAll(namesOf(loaded));
+                            return all;
+                        });
+        return names.flatMapIterable(n -> batch.stream().map(p -> ProductService.toResponse(p, n)).toList());
+    }
+
+    private static Map<String, String> namesOf(Iterable<UserResponse> summaries) {
+        Map<String, String> names = new HashMap<>();
+        for (UserResponse owner : summaries) {
+            if (owner.name() != null) {
+                names.put(owner.email(), owner.name());
+            }
+        }
+        return names;
+    }
+}
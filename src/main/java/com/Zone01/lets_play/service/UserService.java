@@ -1,29 +1,39 @@
 package com.Zone01.lets_play.service;
 
+import com.Zone01.lets_play.Mongo_repisitory.RefreshTokenRepository;
 import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
-import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
 import com.Zone01.lets_play.dto.UserDtos.*;
 import com.Zone01.lets_play.exception.*;
+import com.Zone01.lets_play.models.ProductPurge;
 import com.Zone01.lets_play.models.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class UserService {
 
     private final UserRepository repo;
-    private final ProductRepository productRepo;
     private final PasswordEncoder encoder;
+    private final UserSummaryCache summaries;
+    private final ProductPurgeService productPurge;
+    private final OwnerNameSync ownerNames;
+    private final RefreshTokenRepository refreshTokens;
 
     @Autowired
-    public UserService(UserRepository repo, ProductRepository productRepo, PasswordEncoder encoder) {
+    public UserService(UserRepository repo, PasswordEncoder encoder, UserSummaryCache summaries,
+                       ProductPurgeService productPurge, OwnerNameSync ownerNames,
+                       RefreshTokenRepository refreshTokens) {
 
         this.repo = repo;
-        this.productRepo = productRepo;
         this.encoder = encoder;
+        this.summaries = summaries;
+        this.productPurge = productPurge;
+        this.ownerNames = ownerNames;
+        this.refreshTokens = refreshTokens;
     }
 
     @Transactional
@@ -55,35 +65,54 @@ public class UserService {
     @Transactional
     public UserResponse update(String id, UpdateUserRequest req, boolean allowRoleChange) {
         User u = find(id);
+        String previousName = u.getName();
         u.setName(sanitize(req.name()));
 
         if (allowRoleChange && req.role() != null && !req.role().isBlank()) {
             u.setRole(req.role().toUpperCase());
         }
         repo.save(u);
+        onUserChanged(u, previousName);
         return toResponse(u);
     }
 
     @Transactional
     public UserResponse update(String id, UpdateProfileRequest req) {
         User u = find(id);
+        String previousName = u.getName();
         if (req.name() != null && !req.name().isBlank()) {
             u.setName(sanitize(req.name()));
         }
         if (req.password() != null && !req.password().isBlank()) {
             u.setPassword(encoder.encode(req.password()));
+            // A new password signs out the API clients holding refresh tokens
+            refreshTokens.deleteByUserId(u.getId());
         }
         repo.save(u);
+        onUserChanged(u, previousName);
         return toResponse(u);
     }
 
     @Transactional
     public void delete(String id) {
         User u = find(id);
-        // DELETE CASCADE - supprimer tous les produits de l'utilisateur
-        productRepo.findByUserId(u.getEmail()).forEach(productRepo::delete);
+        // DELETE CASCADE - supprimer tous les produits de l'utilisateur (un seul deleteMany)
+        productPurge.purge(u.getEmail());
         // Puis supprimer l'utilisateur
         repo.delete(u);
+        summaries.invalidate(u.getEmail());
+        refreshTokens.deleteByUserId(u.getId());
+    }
+
+    // Deletes the account right away and purges its products in the background. The products
+    // are picked before the account is deleted, while nobody else can own products under its email.
+    public PurgeStatus deleteInBackground(String id) {
+        User u = find(id);
+        ProductPurge purge = productPurge.prepare(u.getId(), u.getEmail());
+        repo.delete(u);
+        summaries.invalidate(u.getEmail());
+        refreshTokens.deleteByUserId(u.getId());
+        return productPurge.start(purge);
     }
 
     public boolean isCurrentUser(String userId, org.springframework.security.core.Authentication authentication) {
@@ -95,6 +124,14 @@ public class UserService {
         return user.getEmail().equals(currentUserEmail);
     }
 
+    // Products carry a copy of the owner's name; a rename is copied onto them in the background
+    private void onUserChanged(User u, String previousName) {
+        summaries.invalidate(u.getEmail());
+        if (!Objects.equals(previousName, u.getName())) {
+            ownerNames.propagateInBackground(u.getEmail());
+        }
+    }
+
     private User find(String id) {
         return repo.findById(id).orElseThrow(() -> new UserNotFoundException(id, "retrieval"));
     }
@@ -0,0 +1,100 @@
+package com.Zone01.lets_play.service;
+
+import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.dto.UserDtos.UserResponse;
+import com.Zone01.lets_play.models.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded, expiring cache of user summaries keyed by email. Used wherever a user
+ * is looked up only to be displayed (product owner names, page headers).
+ * UserService invalidates entries when a user is renamed or deleted.
+ */
+@Component
+public class UserSummaryCache {
+
+    private final UserRepository users;
+    private final Cache<String, UserResponse> cache;
+
+    public UserSummaryCache(UserRepository users,
+                            @Value("${spring.application.user-cache.max-size:10000}") long maxSize,
+                            @Value("${spring.application.user-cache.ttl:10m}") Duration ttl) {
+        this.users = users;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public UserResponse get(String email) {
+        if (email == null) {
+            return null;
+        }
+        return cache.get(email, key -> {
+            User u = users.findByEmail(key);
+            return u != null ? toSummary(u) : null;
+        });
+    }
+
+    /**
+     * Returns the summaries that exist for {@code emails}; every miss is loaded
+     * with a single $in query. Unknown emails are simply absent from the result.
+     */
+    public Map<String, UserResponse> getAll(Collection<String> emails) {
+        return cache.getAll(emails, missing -> {
+            Map<String, UserResponse> loaded = new HashMap<>();
+            for (User u : users.findOwnersByEmailIn(List.copyOf(missing))) {
+                loaded.put(u.getEmail(), toSummary(u));
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * Non-blocking: the summaries already loaded for {@code emails}. Missing entries are
+     * left out.
+     */
+    public Map<String, UserResponse> peekAll(Collection<String> emails) {
+        return cache.getAllPresent(emails);
+    }
+
+    // Stores a user loaded elsewhere (the reactive read path) and returns its summary
+    public UserResponse put(User u) {
+        UserResponse summary = toSummary(u);
+        cache.put(u.getEmail(), summary);
+        return summary;
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private UserResponse toSummary(User u) {
+        return new UserResponse(u.getId(), u.getName(), u.getEmail(), u.getRole());
+    }
+}
@@ -192,14 +192,24 @@ async function deleteUser(userId, userName) {
     }
 
     try {
-        const response = await fetch(`/web/admin/users/${userId}`, {
+        // async=true: the account is removed immediately, its products are purged in the background
+        const response = await fetch(`/web/admin/users/${userId}?async=true`, {
             method: 'DELETE',
             headers: {
                 [csrfHeader]: csrfToken
             }
         });
 
-        if (response.ok) {
+        if (response.status === 202) {
+            showMessage(`User "${userName}" deleted. Removing their products...`, false);
+            refreshUsers();
+            const status = await waitForPurge(userId);
+            if (status.state === 'COMPLETED') {
+                showMessage(`User "${userName}" deleted with ${status.deletedProducts} product(s)`, false);
+            } else {
+                showMessage(`User "${userName}" deleted, but removing their products failed`, true);
+            }
+        } else if (response.ok) {
             showMessage(`User "${userName}" deleted successfully`, false);
             refreshUsers();
         } else {
@@ -212,6 +222,25 @@ async function deleteUser(userId, userName) {
     }
 }
 
+// Poll the purge status of a deleted user until it is no longer running
+async function waitForPurge(userId) {
+    while (true) {
+        await new Promise(resolve => setTimeout(resolve, 1000));
+        const response = await fetch(`/web/admin/users/${userId}/purge`, {
+            headers: {
+                [csrfHeader]: csrfToken
+            }
+        });
+        if (!response.ok) {
+            throw new Error('Failed to read purge status. Status: ' + response.status);
+        }
+        const status = await response.json();
+        if (status.state !== 'RUNNING') {
+            return status;
+        }
+    }
+}
+
 function refreshUsers() {
     loadAllUsers();
 }
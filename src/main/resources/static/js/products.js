@@ -1,15 +1,26 @@
 // Products Management JavaScript
 
 const currentUserData = window.currentUser || null;
-let jwtToken = null;
+// Short-lived API token, kept in sessionStorage across page loads and renewed shortly before it expires
+const TOKEN_KEY = 'apiToken';
+const TOKEN_RENEW_MARGIN_MS = 60 * 1000;
+const PAGE_SIZE = 20;
+// Active search (null while the full list is shown) and the next result page to fetch
+let searchQuery = null;
+let nextSearchPage = null;
+// Cursor of the next page of the full list, null on the last page
+let nextCursor = null;
 
 // Initialize on page load
 document.addEventListener('DOMContentLoaded', function() {
-    // Get JWT token if user is logged in
-    if (currentUserData) {
-        fetchJwtToken().then(() => {
-            loadProducts();
-        });
+    // Logged out: drop the token left behind by the previous session
+    if (!currentUserData) {
+        sessionStorage.removeItem(TOKEN_KEY);
+    }
+
+    // The first page comes with the HTML, so nothing has to be fetched before rendering it
+    if (window.firstPage) {
+        showProductPage(window.firstPage, false);
     } else {
         loadProducts();
     }
@@ -20,6 +31,17 @@ document.addEventListener('DOMContentLoaded', function() {
         createForm.addEventListener('submit', handleCreateProduct);
     }
 
+    // Search handlers
+    document.getElementById('searchForm').addEventListener('submit', handleSearch);
+    document.getElementById('clearSearch').addEventListener('click', clearSearch);
+    document.getElementById('load-more').addEventListener('click', () => {
+        if (searchQuery) {
+            searchProducts(nextSearchPage, true);
+        } else {
+            loadMoreProducts();
+        }
+    });
+
     // Edit product form handler
     const editForm = document.getElementById('editProductForm');
     if (editForm) {
@@ -41,19 +63,32 @@ document.addEventListener('DOMContentLoaded', function() {
     }
 });
 
-// Fetch JWT token for authenticated user
-async function fetchJwtToken() {
+// API token of the logged-in user: the stored one while it is valid for another minute,
+// otherwise a new one from /web/token (null when that fails)
+async function getApiToken() {
+    if (!currentUserData) {
+        return null;
+    }
+    const stored = JSON.parse(sessionStorage.getItem(TOKEN_KEY) || 'null');
+    if (stored && stored.email === currentUserData.email && stored.expiresAt - Date.now() > TOKEN_RENEW_MARGIN_MS) {
+        return stored.token;
+    }
     try {
         const response = await fetch('/web/token');
-        if (response.ok) {
-            const data = await response.json();
-            jwtToken = data.token;
-            console.log('JWT token obtained successfully');
-        } else {
+        if (!response.ok) {
             console.error('Failed to obtain JWT token');
+            return null;
         }
+        const data = await response.json();
+        sessionStorage.setItem(TOKEN_KEY, JSON.stringify({
+            email: currentUserData.email,
+            token: data.token,
+            expiresAt: Date.now() + data.expiresIn * 1000
+        }));
+        return data.token;
     } catch (error) {
         console.error('Error fetching JWT token:', error);
+        return null;
     }
 }
 
@@ -66,15 +101,14 @@ function showMessage(message, isError = false) {
     }, 5000);
 }
 
-// Load all products
+// Load the first page of products
 async function loadProducts() {
     try {
-        const response = await fetch('/api/products');
+        const response = await fetch(`/api/products?size=${PAGE_SIZE}`);
         if (!response.ok) {
             throw new Error('Failed to load products');
         }
-        const products = await response.json();
-        displayProducts(products);
+        showProductPage(await response.json(), false);
     } catch (error) {
         console.error('Error loading products:', error);
         document.getElementById('products-container').innerHTML =
@@ -82,16 +116,90 @@ async function loadProducts() {
     }
 }
 
-// Display products in the UI
-function displayProducts(products) {
+// Append the page after the last one shown
+async function loadMoreProducts() {
+    if (!nextCursor) {
+        return;
+    }
+    try {
+        const params = new URLSearchParams({ cursor: nextCursor, size: PAGE_SIZE });
+        const response = await fetch(`/api/products?${params}`);
+        if (!response.ok) {
+            throw new Error('Failed to load more products');
+        }
+        showProductPage(await response.json(), true);
+    } catch (error) {
+        console.error('Error loading products:', error);
+        showMessage(error.message, true);
+    }
+}
+
+function showProductPage(page, append) {
+    displayProducts(page.items, append);
+    nextCursor = page.next;
+    document.getElementById('load-more').style.display = page.next ? 'inline-block' : 'none';
+}
+
+// Search products on the server, best matches first, one page at a time
+async function handleSearch(event) {
+    event.preventDefault();
+    const q = document.getElementById('searchQuery').value.trim();
+    if (!q) {
+        clearSearch();
+        return;
+    }
+    searchQuery = q;
+    await searchProducts(0, false);
+}
+
+async function searchProducts(page, append) {
+    try {
+        const params = new URLSearchParams({ q: searchQuery, page: page, size: 20 });
+        const response = await fetch(`/api/products/search?${params}`);
+        if (!response.ok) {
+            const error = await response.json();
+            throw new Error(error.message || 'Search failed');
+        }
+        const result = await response.json();
+        document.getElementById('products-heading').textContent = `Search results for "${result.query}"`;
+        displayProducts(result.items, append);
+        nextSearchPage = result.next;
+        document.getElementById('load-more').style.display = result.next !== null ? 'inline-block' : 'none';
+    } catch (error) {
+        console.error('Error searching products:', error);
+        showMessage(error.message, true);
+    }
+}
+
+function clearSearch() {
+    searchQuery = null;
+    nextSearchPage = null;
+    document.getElementById('searchQuery').value = '';
+    document.getElementById('products-heading').textContent = 'All Products';
+    loadProducts();
+}
+
+// Refresh whatever is currently shown after a create/update/delete
+function reloadProducts() {
+    if (searchQuery) {
+        searchProducts(0, false);
+    } else {
+        loadProducts();
+    }
+}
+
+// Display products in the UI (append adds a further page of search results)
+function displayProducts(products, append = false) {
     const container = document.getElementById('products-container');
 
-    if (products.length === 0) {
-        container.innerHTML = '<p>No products available yet. Be the first to create one!</p>';
+    if (products.length === 0 && !append) {
+        container.innerHTML = searchQuery
+            ? '<p>No products match your search.</p>'
+            : '<p>No products available yet. Be the first to create one!</p>';
         return;
     }
 
-    container.innerHTML = products.map(product => {
+    const html = products.map(product => {
         const isOwner = currentUserData && product.userId === currentUserData.email;
         const isAdmin = currentUserData && currentUserData.role === 'ADMIN';
         const canEdit = isOwner || isAdmin;
@@ -111,12 +219,18 @@ function displayProducts(products) {
             </div>
         `;
     }).join('');
+    if (append) {
+        container.insertAdjacentHTML('beforeend', html);
+    } else {
+        container.innerHTML = html;
+    }
 }
 
 // Handle product creation
 async function handleCreateProduct(event) {
     event.preventDefault();
 
+    const jwtToken = await getApiToken();
     if (!jwtToken) {
         showMessage('Authentication error. Please refresh the page and try again.', true);
         return;
@@ -145,7 +259,7 @@ async function handleCreateProduct(event) {
 
         showMessage('Product created successfully!');
         document.getElementById('createProductForm').reset();
-        loadProducts();
+        reloadProducts();
     } catch (error) {
         console.error('Error creating product:', error);
         showMessage(error.message, true);
@@ -165,6 +279,7 @@ function openEditModal(id, name, description, price) {
 async function handleUpdateProduct(event) {
     event.preventDefault();
 
+    const jwtToken = await getApiToken();
     if (!jwtToken) {
         showMessage('Authentication error. Please refresh the page and try again.', true);
         return;
@@ -194,7 +309,7 @@ async function handleUpdateProduct(event) {
 
         showMessage('Product updated successfully!');
         document.getElementById('editModal').style.display = 'none';
-        loadProducts();
+        reloadProducts();
     } catch (error) {
         console.error('Error updating product:', error);
         showMessage(error.message, true);
@@ -207,6 +322,7 @@ async function deleteProduct(id) {
         return;
     }
 
+    const jwtToken = await getApiToken();
     if (!jwtToken) {
         showMessage('Authentication error. Please refresh the page and try again.', true);
         return;
@@ -226,7 +342,7 @@ async function deleteProduct(id) {
         }
 
         showMessage('Product deleted successfully!');
-        loadProducts();
+        reloadProducts();
     } catch (error) {
         console.error('Error deleting product:', error);
         showMessage(error.message, true);
@@ -0,0 +1,66 @@
+package com.Zone01.lets_play;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.Zone01.lets_play.security.JwtAuthenticationFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "spring.data.mongodb.database=test_database",
+    "spring.application.rate-limiting.enabled=false",
+    "spring.application.jwt.failure-log-interval=1h"
+})
+public class JwtFailureLogTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtFilter;
+
+    private final Logger filterLogger = (Logger) LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+
+    @BeforeEach
+    void attach() {
+        events.start();
+        filterLogger.addAppender(events);
+    }
+
+    @AfterEach
+    void detach() {
+        filterLogger.detachAppender(events);
+    }
+
+    @Test
+    @DisplayName("A burst of malformed tokens is logged once and still counted in full")
+    void repeatedFailuresAreRateLimited() throws Exception {
+        long before = jwtFilter.parseFailures(JwtAuthenticationFilter.ParseFailure.MALFORMED);
+        for (int i = 0; i < 50; i++) {
+            mockMvc.perform(get("/api/products").header("Authorization", "Bearer not-a-jwt-" + i))
+                    .andExpect(status().isOk());
+        }
+
+        assertEquals(50, jwtFilter.parseFailures(JwtAuthenticationFilter.ParseFailure.MALFORMED) - before);
+        long logged = events.list.stream()
+                .filter(e -> e.getFormattedMessage().startsWith("[JWT] Authentication failed (MALFORMED)"))
+                .count();
+        assertEquals(1, logged);
+    }
+}
@@ -0,0 +1,72 @@
+package com.Zone01.lets_play;
+
+import com.Zone01.lets_play.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The verified-token cache sits in front of signature checks, so a token must never outlive its exp through it
+public class JwtServiceTests {
+
+    @Test
+    @DisplayName("A cached token is rejected once its exp has passed")
+    void cachedTokenExpires() throws Exception {
+        JwtService jwt = new JwtService(100, Duration.ofSeconds(2));
+        String token = jwt.generateToken("id-1", "alice@example.com", "USER");
+
+        jwt.parseToken(token);
+        assertEquals("alice@example.com", jwt.parseToken(token).getSubject());
+        assertEquals(1, jwt.verifiedCacheStats().hitCount());
+
+        Thread.sleep(2_100); // exp has second precision, so it is at most 2s away
+        assertThrows(ExpiredJwtException.class, () -> jwt.parseToken(token));
+    }
+
+    @Test
+    @DisplayName("A tampered token with the same subject misses the cache and fails verification")
+    void tamperedTokenMissesCache() {
+        JwtService jwt = new JwtService(100, Duration.ofMinutes(15));
+        String token = jwt.generateToken("id-1", "alice@example.com", "USER");
+        Claims claims = jwt.parseToken(token);
+        assertEquals("USER", claims.get("role"));
+
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        String forged = parts[0] + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        payload.replace("\"USER\"", "\"ADMIN\"").getBytes(StandardCharsets.UTF_8))
+                + "." + parts[2];
+
+        long missesBefore = jwt.verifiedCacheStats().missCount();
+        assertThrows(SignatureException.class, () -> jwt.parseToken(forged));
+        assertEquals(missesBefore + 1, jwt.verifiedCacheStats().missCount());
+        assertEquals(1, jwt.verifiedCacheSize()); // the forged token was not cached
+    }
+
+    @Test
+    @DisplayName("The verified-token cache stays within its maximum size")
+    void cacheIsBounded() throws Exception {
+        JwtService jwt = new JwtService(10, Duration.ofMinutes(15));
+        for (int i = 0; i < 200; i++) {
+            jwt.parseToken(jwt.generateToken("id-" + i, "user" + i + "@example.com", "USER"));
+        }
+
+        // Eviction runs on Caffeine's maintenance executor, shortly after the writes
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (jwt.verifiedCacheSize() > 10 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(jwt.verifiedCacheSize() <= 10, "cache holds " + jwt.verifiedCacheSize() + " tokens");
+        assertTrue(jwt.verifiedCacheStats().evictionCount() >= 190);
+    }
+}
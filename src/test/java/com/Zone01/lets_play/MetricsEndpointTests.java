@@ -0,0 +1,63 @@
+package com.Zone01.lets_play;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+    "spring.data.mongodb.database=test_database",
+    "spring.application.rate-limiting.enabled=false",
+    "management.endpoints.web.exposure.include=health,prometheus",
+    // The health test checks the security rule, not whether the database answers `hello`
+    "management.health.mongo.enabled=false",
+    "management.metrics.distribution.percentiles-histogram.http.server.requests=true"
+})
+public class MetricsEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("GET /actuator/prometheus is public and exposes API, Mongo and security meters")
+    void prometheusScrape() throws Exception {
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+        mockMvc.perform(post("/api/products")
+                .header("Authorization", "Bearer not.a.token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"x\",\"price\":1}"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("uri=\"/api/products\""),
+                        containsString("mongodb_driver_commands_seconds"),
+                        containsString("security_password_hashing_seconds_count"),
+                        containsString("security_jwt_parse_failures_total{reason=\"malformed\"}"),
+                        containsString("ratelimit_requests_total{outcome=\"rejected\"}"),
+                        containsString("ratelimit_buckets"))));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/health needs no token")
+    void healthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+}
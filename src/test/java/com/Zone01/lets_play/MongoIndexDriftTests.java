@@ -0,0 +1,107 @@
+package com.Zone01.lets_play;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.Zone01.lets_play.config.MongoIndexManager;
+import com.Zone01.lets_play.models.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.data.mongodb.database=test_database",
+    "spring.application.rate-limiting.enabled=false"
+})
+public class MongoIndexDriftTests {
+
+    private static final String EXTRA_INDEX = "drift_extra";
+
+    @Autowired
+    private MongoTemplate mongo;
+
+    @Autowired
+    private MongoIndexManager indexManager;
+
+    private final Logger managerLogger = (Logger) LoggerFactory.getLogger(MongoIndexManager.class);
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+
+    @BeforeEach
+    void attach() {
+        events.start();
+        managerLogger.addAppender(events);
+    }
+
+    @AfterEach
+    void restoreIndexes() {
+        managerLogger.detachAppender(events);
+        if (mongo.indexOps(Product.class).getIndexInfo().stream().anyMatch(i -> i.getName().equals(EXTRA_INDEX))) {
+            mongo.indexOps(Product.class).dropIndex(EXTRA_INDEX);
+        }
+        indexManager.afterSingletonsInstantiated(); // recreates anything a test dropped
+    }
+
+    @Test
+    @DisplayName("An index that no entity declares is reported as drift")
+    void undeclaredIndexIsReported() {
+        mongo.indexOps(Product.class).ensureIndex(new Index("description", Sort.Direction.ASC).named(EXTRA_INDEX));
+
+        indexManager.afterSingletonsInstantiated();
+
+        assertThat(warnings(), hasItem(allOf(startsWith("[INDEXES] Undeclared index on 'products'"),
+                containsString("{description: 1}"))));
+    }
+
+    @Test
+    @DisplayName("A declared index missing from Mongo aborts the check when fail-on-drift is set")
+    void missingIndexFailsWhenStrict() {
+        mongo.indexOps(Product.class).dropIndex("owner_id");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new MongoIndexManager(mongo, false, true).afterSingletonsInstantiated());
+
+        assertThat(e.getMessage(), containsString("Missing index on 'products': {userId: 1, _id: 1}"));
+        assertThat(warnings(), hasItem(startsWith("[INDEXES] Missing index on 'products'")));
+    }
+
+    @Test
+    @DisplayName("Startup aborts on index drift when fail-on-drift=true")
+    void startupAbortsOnDrift() {
+        mongo.indexOps(Product.class).ensureIndex(new Index("description", Sort.Direction.ASC).named(EXTRA_INDEX));
+
+        Exception e = assertThrows(Exception.class, () -> new SpringApplicationBuilder(LetsPlayApplication.class)
+                .properties("spring.data.mongodb.database=test_database",
+                        "spring.application.mongo-indexes.fail-on-drift=true")
+                .run()
+                .close());
+
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        assertThat(cause, instanceOf(IllegalStateException.class));
+        assertThat(cause.getMessage(), containsString("Undeclared index on 'products'"));
+    }
+
+    private List<String> warnings() {
+        return events.list.stream()
+                .filter(e -> e.getLevel() == Level.WARN)
+                .map(ILoggingEvent::getFormattedMessage)
+                .toList();
+    }
+}
@@ -0,0 +1,204 @@
+package com.Zone01.lets_play;
+
+import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.exception.PasswordHashingBusyException;
+import com.Zone01.lets_play.models.User;
+import com.Zone01.lets_play.security.OffloadingPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// A pool of one hashing thread with a queue of one: a gated encoder holds the thread (and
+// the queue slot) so logins hit the fail-fast paths deterministically
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "spring.data.mongodb.database=test_database",
+    "spring.application.rate-limiting.enabled=false"
+})
+public class PasswordHashingBusyTests {
+
+    private static final String EMAIL = "busy-login@example.com";
+    private static final String PASSWORD = "password123";
+
+    @TestConfiguration
+    static class GatedEncoderConfig {
+        @Bean
+        GatedEncoder gatedEncoder() {
+            return new GatedEncoder();
+        }
+
+        @Bean
+        @Primary
+        OffloadingPasswordEncoder gatedPasswordEncoder(GatedEncoder gate) {
+            return new OffloadingPasswordEncoder(gate, 1, 1, Duration.ofMillis(300), 7);
+        }
+    }
+
+    // BCrypt at its lowest cost, blocking while the gate is closed
+    static class GatedEncoder implements PasswordEncoder {
+        private final PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void close() {
+            gate = new CountDownLatch(1);
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return bcrypt.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return bcrypt.matches(rawPassword, encodedPassword);
+        }
+
+        private void await() {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OffloadingPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private GatedEncoder gate;
+
+    @BeforeEach
+    void setUp() {
+        User existing = userRepository.findByEmail(EMAIL);
+        if (existing == null) {
+            User user = new User();
+            user.setName("Busy Login");
+            user.setEmail(EMAIL);
+            user.setRole("USER");
+            user.setPassword(passwordEncoder.encode(PASSWORD));
+            userRepository.save(user);
+        }
+        gate.close();
+    }
+
+    @AfterEach
+    void drain() throws Exception {
+        gate.open();
+        awaitUntil(() -> passwordEncoder.activeThreads() == 0 && passwordEncoder.queueDepth() == 0);
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login answers 503 with Retry-After when the hashing queue is full")
+    void apiLoginFailsFastWhenSaturated() throws Exception {
+        saturate();
+        long rejectedBefore = passwordEncoder.rejectedCount();
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "7"))
+                .andExpect(jsonPath("$.status").value(503));
+
+        assertEquals(rejectedBefore + 1, passwordEncoder.rejectedCount());
+    }
+
+    @Test
+    @DisplayName("Form login answers 503 with Retry-After when the hashing queue is full")
+    void formLoginFailsFastWhenSaturated() throws Exception {
+        saturate();
+
+        mockMvc.perform(post("/login")
+                        .param("email", EMAIL)
+                        .param("password", PASSWORD)
+                        .with(csrf()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "7"));
+    }
+
+    @Test
+    @DisplayName("A login queued behind a slow hash gives up after max-wait with 503")
+    void queuedLoginTimesOut() throws Exception {
+        block();
+        long rejectedBefore = passwordEncoder.rejectedCount();
+
+        long start = System.nanoTime();
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "7"));
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(waitedMillis >= 300, "gave up after " + waitedMillis + "ms");
+        assertEquals(rejectedBefore + 1, passwordEncoder.rejectedCount());
+
+        // The gate opens, so the same login goes through again
+        gate.open();
+        awaitUntil(() -> passwordEncoder.activeThreads() == 0 && passwordEncoder.queueDepth() == 0);
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty());
+    }
+
+    // Holds the only hashing thread. The caller gives up after max-wait, but the hash keeps
+    // running until the gate opens
+    private void block() throws Exception {
+        assertThrows(PasswordHashingBusyException.class, () -> passwordEncoder.encode("held"));
+        awaitUntil(() -> passwordEncoder.activeThreads() == 1);
+    }
+
+    // Also fills the queue: a queued hash that timed out keeps its slot until a thread dequeues it
+    private void saturate() throws Exception {
+        block();
+        assertThrows(PasswordHashingBusyException.class, () -> passwordEncoder.encode("queued"));
+        awaitUntil(() -> passwordEncoder.queueDepth() == 1);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean(), "condition not reached within 5s");
+    }
+}
@@ -0,0 +1,318 @@
+package com.Zone01.lets_play;
+
+import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.dto.ProductDtos.CreateProductRequest;
+import com.Zone01.lets_play.dto.ProductDtos.ProductPage;
+import com.Zone01.lets_play.dto.UserDtos.UpdateUserRequest;
+import com.Zone01.lets_play.models.Product;
+import com.Zone01.lets_play.models.User;
+import com.Zone01.lets_play.security.JwtService;
+import com.Zone01.lets_play.service.OwnerNameSync;
+import com.Zone01.lets_play.service.ProductCache;
+import com.Zone01.lets_play.service.ProductService;
+import com.Zone01.lets_play.service.UserService;
+import com.Zone01.lets_play.service.UserSummaryCache;
+import com.jayway.jsonpath.JsonPath;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ProductListingQueryCountTests.CommandCounterConfig.class)
+@TestPropertySource(properties = {
+    "spring.data.mongodb.database=test_database",
+    "spring.application.rate-limiting.enabled=false"
+})
+public class ProductListingQueryCountTests {
+
+    @TestConfiguration
+    static class CommandCounterConfig {
+        @Bean
+        CommandCounter commandCounter() {
+            return new CommandCounter();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandCounterCustomizer(CommandCounter counter) {
+            return builder -> builder.addCommandListener(counter);
+        }
+    }
+
+    static class CommandCounter implements CommandListener {
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            BsonValue target = event.getCommand().get(event.getCommandName());
+            String collection = target != null && target.isString() ? target.asString().getValue() : "";
+            counts.computeIfAbsent(event.getCommandName() + ":" + collection, k -> new AtomicInteger()).incrementAndGet();
+        }
+
+        void reset() {
+            counts.clear();
+        }
+
+        int count(String commandName, String collection) {
+            AtomicInteger c = counts.get(commandName + ":" + collection);
+            return c == null ? 0 : c.get();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CommandCounter commandCounter;
+
+    @Autowired
+    private UserSummaryCache userSummaryCache;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private OwnerNameSync ownerNameSync;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @BeforeEach
+    void cleanDb() {
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+        userSummaryCache.invalidateAll();
+        productCache.invalidateAll();
+    }
+
+    private void seed(int owners, int productsPerOwner) {
+        List<Product> products = new ArrayList<>();
+        for (int o = 0; o < owners; o++) {
+            User owner = new User();
+            owner.setName("Owner " + o);
+            owner.setEmail("owner" + o + "@example.com");
+            owner.setPassword("irrelevant");
+            owner.setRole("USER");
+            userRepository.save(owner);
+            for (int i = 0; i < productsPerOwner; i++) {
+                Product p = new Product();
+                p.setName("Product " + o + "-" + i);
+                p.setPrice(1 + i);
+                p.setUserId(owner.getEmail());
+                products.add(p);
+            }
+        }
+        productRepository.saveAll(products);
+    }
+
+    private int commandsForListing(int expectedSize) throws Exception {
+        commandCounter.reset();
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(expectedSize)))
+                .andExpect(jsonPath("$[*].ownerName", everyItem(startsWith("Owner "))));
+        return queriesOnProductsAndUsers();
+    }
+
+    // getMore batches follow the cursor, not the owners, so only query commands are compared
+    private int queriesOnProductsAndUsers() {
+        return commandCounter.count("find", "products") + commandCounter.count("find", "users");
+    }
+
+    @Test
+    @DisplayName("GET /api/products issues one products query and one users query")
+    void listingResolvesOwnersInBulk() throws Exception {
+        seed(3, 5);
+        commandsForListing(15);
+        assertEquals(1, commandCounter.count("find", "products"));
+        assertEquals(1, commandCounter.count("find", "users"));
+    }
+
+    @Test
+    @DisplayName("GET /api/products Mongo command count does not grow with catalog size")
+    void listingCommandCountIsConstant() throws Exception {
+        seed(4, 5);
+        int small = commandsForListing(20);
+
+        cleanDb();
+        seed(20, 25);
+        int large = commandsForListing(500);
+
+        assertEquals(small, large);
+    }
+
+    @Test
+    @DisplayName("GET /api/products serves owner names from the cache once they are warm")
+    void listingUsesOwnerCache() throws Exception {
+        seed(3, 5);
+        commandsForListing(15);
+        productCache.invalidateAll();
+        commandsForListing(15);
+        assertEquals(1, commandCounter.count("find", "products"));
+        assertEquals(0, commandCounter.count("find", "users"));
+    }
+
+    @Test
+    @DisplayName("Repeated product reads are served from the near-cache")
+    void productReadsUseNearCache() throws Exception {
+        seed(1, 1);
+        String id = productRepository.findAll().get(0).getId();
+        mockMvc.perform(get("/api/products/" + id)).andExpect(status().isOk());
+
+        commandCounter.reset();
+        mockMvc.perform(get("/api/products/" + id)).andExpect(status().isOk());
+        assertEquals(0, queriesOnProductsAndUsers());
+
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+        assertEquals(1, queriesOnProductsAndUsers());
+    }
+
+    @Test
+    @DisplayName("After the backfill, GET /api/products reads owner names from the products alone")
+    void backfilledListingSkipsUsers() throws Exception {
+        seed(3, 5);
+        assertEquals(15, ownerNameSync.backfill());
+        assertEquals(0, ownerNameSync.backfill());
+
+        userSummaryCache.invalidateAll();
+        commandsForListing(15);
+        assertEquals(1, commandCounter.count("find", "products"));
+        assertEquals(0, commandCounter.count("find", "users"));
+    }
+
+    @Test
+    @DisplayName("Renaming a user rewrites the owner name on their products in the background")
+    void renamePropagatesToProducts() throws Exception {
+        seed(2, 3);
+        ownerNameSync.backfill();
+        User owner = userRepository.findByEmail("owner0@example.com");
+
+        userService.update(owner.getId(), new UpdateUserRequest("Owner renamed", null), false);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!productRepository.findByUserId(owner.getEmail()).stream()
+                .allMatch(p -> "Owner renamed".equals(p.getOwnerName()))) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Owner name was not propagated");
+            }
+            Thread.sleep(20);
+        }
+        assertEquals(3, productRepository.findByUserId("owner1@example.com").stream()
+                .filter(p -> "Owner 1".equals(p.getOwnerName())).count());
+        mockMvc.perform(get("/api/products").param("owner", owner.getEmail()))
+                .andExpect(jsonPath("$.items[*].ownerName", everyItem(is("Owner renamed"))));
+    }
+
+    @Test
+    @DisplayName("A product is created with the owner's current name even when the cached summary is stale")
+    void createStoresCurrentOwnerName() {
+        seed(1, 0);
+        assertEquals("Owner 0", userSummaryCache.get("owner0@example.com").name());
+        // Renamed on another instance: this one's summary cache still holds the old name
+        User owner = userRepository.findByEmail("owner0@example.com");
+        owner.setName("Owner elsewhere");
+        userRepository.save(owner);
+
+        String id = productService.create(new CreateProductRequest("Fresh", "d", 3.0), owner.getEmail()).id();
+
+        assertEquals("Owner elsewhere", productRepository.findById(id).orElseThrow().getOwnerName());
+    }
+
+    @Test
+    @DisplayName("The re-check after a write updates only the written products")
+    void recheckTouchesOnlyWrittenProducts() {
+        seed(1, 3);
+        ownerNameSync.backfill();
+        List<Product> existing = productRepository.findByUserId("owner0@example.com");
+        // A rename that has not been propagated yet, racing a create that read the old name
+        User owner = userRepository.findByEmail("owner0@example.com");
+        owner.setName("Owner racing");
+        userRepository.save(owner);
+
+        commandCounter.reset();
+        assertEquals(1, ownerNameSync.recheck(owner.getEmail(), List.of(existing.get(0).getId())));
+        assertEquals(1, commandCounter.count("update", "products"));
+
+        assertEquals("Owner racing", productRepository.findById(existing.get(0).getId()).orElseThrow().getOwnerName());
+        assertEquals(2, productRepository.findByUserId(owner.getEmail()).stream()
+                .filter(p -> "Owner 0".equals(p.getOwnerName())).count());
+        assertEquals(0, ownerNameSync.recheck(owner.getEmail(), List.of(existing.get(0).getId())));
+    }
+
+    @Test
+    @DisplayName("GET /products renders the first page without minting a token; the cursor leads to the rest")
+    void productsPageEmbedsFirstPage() throws Exception {
+        seed(2, 15);
+        ownerNameSync.backfill();
+        userSummaryCache.invalidateAll();
+
+        commandCounter.reset();
+        MvcResult page = mockMvc.perform(get("/products").with(user("owner0@example.com").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("window.firstPage = {\"items\":[")))
+                .andReturn();
+        // One page query, plus the session user's summary for the header
+        assertEquals(1, commandCounter.count("find", "products"));
+        assertEquals(1, commandCounter.count("find", "users"));
+        assertNull(page.getModelAndView().getModel().get("apiToken"));
+
+        // The API token comes from /web/token, off the cached summary
+        commandCounter.reset();
+        String body = mockMvc.perform(get("/web/token").with(user("owner0@example.com").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expiresIn").value(900))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(0, commandCounter.count("find", "users"));
+        String token = JsonPath.read(body, "$.token");
+        assertEquals("owner0@example.com", jwtService.parseToken(token).getSubject());
+
+        ProductPage first = (ProductPage) page.getModelAndView().getModel().get("firstPage");
+        assertEquals(20, first.items().size());
+        assertNotNull(first.next());
+        mockMvc.perform(get("/api/products").param("cursor", first.next()).param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(10)))
+                .andExpect(jsonPath("$.next").value(nullValue()));
+    }
+}
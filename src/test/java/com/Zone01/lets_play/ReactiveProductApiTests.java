@@ -0,0 +1,141 @@
+package com.Zone01.lets_play;
+
+import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.config.ReactiveApiServer;
+import com.Zone01.lets_play.dto.ProductDtos.ProductResponse;
+import com.Zone01.lets_play.models.Product;
+import com.Zone01.lets_play.models.User;
+import com.Zone01.lets_play.service.UserSummaryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.data.mongodb.database=test_database",
+    "spring.application.rate-limiting.enabled=false"
+})
+public class ReactiveProductApiTests {
+
+    @Autowired
+    private ReactiveApiServer reactiveApiServer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserSummaryCache userSummaryCache;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+        userSummaryCache.invalidateAll();
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://127.0.0.1:" + reactiveApiServer.getPort())
+                .build();
+    }
+
+    private List<Product> seed(int count) {
+        User owner = new User();
+        owner.setName("Reactive Seller");
+        owner.setEmail("reactive@example.com");
+        owner.setPassword("irrelevant");
+        owner.setRole("USER");
+        userRepository.save(owner);
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product p = new Product();
+            p.setName("Product " + i);
+            p.setPrice(i);
+            p.setUserId(owner.getEmail());
+            products.add(p);
+        }
+        return productRepository.saveAll(products);
+    }
+
+    @Test
+    @DisplayName("Reactive GET /api/products returns every product with its owner name")
+    void listReturnsAllProducts() {
+        seed(300); // more than one owner-resolution window
+
+        List<ProductResponse> products = client.get().uri("/api/products")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBodyList(ProductResponse.class)
+                .returnResult().getResponseBody();
+
+        assertEquals(300, products.size());
+        assertTrue(products.stream().allMatch(p -> "Reactive Seller".equals(p.ownerName())));
+    }
+
+    @Test
+    @DisplayName("Reactive GET /api/products streams NDJSON when asked")
+    void listStreamsNdjson() {
+        seed(5);
+
+        List<ProductResponse> products = client.get().uri("/api/products")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(5, products.size());
+    }
+
+    @Test
+    @DisplayName("Reactive GET /api/products/{id} returns the product, 404 when absent")
+    void getById() {
+        Product product = seed(1).get(0);
+
+        client.get().uri("/api/products/" + product.getId())
+                .exchange()
+                .expectStatus().isOk()
+                // Same default security headers as the servlet API
+                .expectHeader().valueEquals("X-Content-Type-Options", "nosniff")
+                .expectHeader().valueEquals("X-Frame-Options", "DENY")
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(product.getId())
+                .jsonPath("$.ownerName").isEqualTo("Reactive Seller");
+
+        client.get().uri("/api/products/does-not-exist")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Reactive API does not route writes")
+    void writesAreNotRouted() {
+        client.post().uri("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"x\",\"price\":1}")
+                .exchange()
+                .expectStatus().isNotFound();
+        assertEquals(0, productRepository.count());
+    }
+}
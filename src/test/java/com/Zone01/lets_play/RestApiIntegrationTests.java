@@ -1,12 +1,20 @@
 package com.Zone01.lets_play;
 
 import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.Mongo_repisitory.ProductPurgeRepository;
 import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.Mongo_repisitory.RefreshTokenRepository;
 import com.Zone01.lets_play.dto.UserDtos;
 import com.Zone01.lets_play.dto.ProductDtos;
 import com.Zone01.lets_play.dto.AuthDtos;
+import com.Zone01.lets_play.models.Product;
+import com.Zone01.lets_play.models.ProductPurge;
+import com.Zone01.lets_play.models.RefreshToken;
+import com.Zone01.lets_play.service.ProductCache;
+import com.Zone01.lets_play.service.ProductPurgeService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,7 +26,16 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,7 +43,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @TestPropertySource(properties = {
     "spring.data.mongodb.database=test_database",
-    "spring.application.rate-limiting.enabled=false"
+    "spring.application.rate-limiting.enabled=false",
+    "spring.application.product-listing.max-items=5"
 })
 public class RestApiIntegrationTests {
 
@@ -39,10 +57,24 @@ public class RestApiIntegrationTests {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private ProductPurgeRepository productPurgeRepository;
+
+    @Autowired
+    private ProductPurgeService productPurgeService;
+
     @BeforeEach
     void cleanDb() {
         productRepository.deleteAll();
         userRepository.deleteAll();
+        productPurgeRepository.deleteAll();
+        productCache.invalidateAll();
     }
 
     private String getJwtForUser(String email, String password, String role) throws Exception {
@@ -203,6 +235,76 @@ public class RestApiIntegrationTests {
                 .andExpect(jsonPath("$.token").exists());
     }
 
+    @Test
+    @DisplayName("POST /api/auth/refresh rotates the refresh token; a spent or revoked one is rejected")
+    void refreshRotatesTokens() throws Exception {
+        getJwtForUser("refresh@example.com", "Password123!", null);
+        String login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"refresh@example.com\",\"password\":\"Password123!\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expiresIn").value(900))
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andReturn().getResponse().getContentAsString();
+        String firstRefresh = new ObjectMapper().readTree(login).get("refreshToken").asText();
+
+        String refreshed = mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + firstRefresh + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken", not(firstRefresh)))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode pair = new ObjectMapper().readTree(refreshed);
+
+        mockMvc.perform(post("/api/products")
+                .header("Authorization", "Bearer " + pair.get("token").asText())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Refreshed\",\"description\":\"d\",\"price\":1}"))
+                .andExpect(status().isCreated());
+
+        // Single use: replaying the spent token fails
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + firstRefresh + "\"}"))
+                .andExpect(status().isUnauthorized());
+
+        String secondRefresh = pair.get("refreshToken").asText();
+        mockMvc.perform(post("/api/auth/logout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + secondRefresh + "\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + secondRefresh + "\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Refresh tokens are stored hashed and end with the account")
+    void refreshTokensAreHashedAndRevokedOnDelete() throws Exception {
+        String token = getJwtForUser("hashed@example.com", "Password123!", null);
+        String login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"hashed@example.com\",\"password\":\"Password123!\"}"))
+                .andReturn().getResponse().getContentAsString();
+        String refresh = new ObjectMapper().readTree(login).get("refreshToken").asText();
+
+        String userId = userRepository.findByEmail("hashed@example.com").getId();
+        List<RefreshToken> stored = refreshTokenRepository.findAll().stream()
+                .filter(t -> userId.equals(t.getUserId())).toList();
+        assertEquals(2, stored.size());
+        assertTrue(stored.stream().noneMatch(t -> t.getTokenHash().equals(refresh)));
+        assertTrue(stored.stream().allMatch(t -> t.getExpiresAt().isAfter(t.getCreatedAt())));
+
+        mockMvc.perform(delete("/api/users/" + userId).header("Authorization", "Bearer " + token))
+                .andExpect(status().is2xxSuccessful());
+        assertEquals(0, refreshTokenRepository.deleteByUserId(userId));
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refresh + "\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @DisplayName("PUT /api/users/{id} updates user info with auth")
     void updateUserWithAuth() throws Exception {
@@ -332,4 +434,405 @@ public class RestApiIntegrationTests {
                 .content("{\"name\":\"Bad\",\"description\":\"ShouldFail\",\"price\":1}"))
                 .andExpect(status().isUnauthorized());
     }
+
+    private void seedProducts(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product p = new Product();
+            p.setName("Paged " + i);
+            p.setPrice(count - i); // reverse of insertion order
+            p.setUserId("seller@example.com");
+            products.add(p);
+        }
+        productRepository.saveAll(products);
+    }
+
+    private List<JsonNode> readAllPages(String sort, int size) throws Exception {
+        return readAllPages(sort, size, Map.of());
+    }
+
+    private List<JsonNode> readAllPages(String sort, int size, Map<String, String> filters) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/products").param("size", String.valueOf(size)).param("sort", sort);
+            filters.forEach(request::param);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(lessThanOrEqualTo(size))))
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = mapper.readTree(body);
+            page.get("items").forEach(all::add);
+            cursor = page.get("next").isNull() ? null : page.get("next").asText();
+        } while (cursor != null);
+        return all;
+    }
+
+    @Test
+    @DisplayName("GET /api/products?size= walks the catalog by _id without gaps or duplicates")
+    void keysetPaginationById() throws Exception {
+        seedProducts(23);
+        List<JsonNode> all = readAllPages("id", 5);
+        assertEquals(23, all.size());
+        assertEquals(23, all.stream().map(n -> n.get("id").asText()).distinct().count());
+    }
+
+    @Test
+    @DisplayName("GET /api/products?size=&sort=price returns pages in ascending price order")
+    void keysetPaginationByPrice() throws Exception {
+        seedProducts(12);
+        List<JsonNode> all = readAllPages("price", 5);
+        assertEquals(12, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).get("price").asDouble() <= all.get(i).get("price").asDouble());
+        }
+    }
+
+    private void seedOwnedProducts() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Product p = new Product();
+            p.setName("Item " + (char) ('A' + (i * 7) % 26) + i);
+            p.setPrice(i % 10 * 10); // 0..90, each price appears three times
+            p.setUserId(i % 2 == 0 ? "even@example.com" : "odd@example.com");
+            products.add(p);
+        }
+        productRepository.saveAll(products);
+    }
+
+    @Test
+    @DisplayName("GET /api/products filters by price range and owner in Mongo, across pages")
+    void filtersByPriceAndOwner() throws Exception {
+        seedOwnedProducts();
+        List<JsonNode> all = readAllPages("price", 4,
+                Map.of("minPrice", "20", "maxPrice", "60", "owner", "even@example.com"));
+
+        // even indexes have even prices; 20, 40 and 60 appear 3 times each among them
+        assertEquals(9, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            JsonNode p = all.get(i);
+            assertEquals("even@example.com", p.get("userId").asText());
+            assertTrue(p.get("price").asDouble() >= 20 && p.get("price").asDouble() <= 60);
+            if (i > 0) {
+                assertTrue(all.get(i - 1).get("price").asDouble() <= p.get("price").asDouble());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/products?sort=name|newest pages in name / reverse creation order")
+    void sortsByNameAndNewest() throws Exception {
+        seedOwnedProducts();
+
+        List<JsonNode> byName = readAllPages("name", 7);
+        assertEquals(30, byName.size());
+        for (int i = 1; i < byName.size(); i++) {
+            assertTrue(byName.get(i - 1).get("name").asText().compareTo(byName.get(i).get("name").asText()) <= 0);
+        }
+
+        List<JsonNode> newest = readAllPages("newest", 7);
+        assertEquals(30, newest.size());
+        for (int i = 1; i < newest.size(); i++) {
+            assertTrue(newest.get(i - 1).get("id").asText().compareTo(newest.get(i).get("id").asText()) > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/products with filters only returns the first page; bad filters are 400")
+    void filterValidation() throws Exception {
+        seedOwnedProducts();
+        mockMvc.perform(get("/api/products").param("owner", "odd@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(15)))
+                .andExpect(jsonPath("$.items[*].userId", everyItem(is("odd@example.com"))));
+        mockMvc.perform(get("/api/products").param("minPrice", "50").param("maxPrice", "10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products").param("minPrice", "cheap"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products").param("sort", "popularity"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/products caps the page size and rejects malformed cursors")
+    void paginationCapsSizeAndRejectsBadCursor() throws Exception {
+        seedProducts(120);
+        mockMvc.perform(get("/api/products").param("size", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(100)))
+                .andExpect(jsonPath("$.next", notNullValue()));
+        mockMvc.perform(get("/api/products").param("size", "10").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/export streams one JSON document per line")
+    void exportStreamsNdjson() throws Exception {
+        seedProducts(7);
+        String body = mockMvc.perform(get("/api/products/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(7, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        for (String line : lines) {
+            JsonNode node = mapper.readTree(line);
+            assertTrue(node.get("name").asText().startsWith("Paged "));
+            assertEquals("Unknown", node.get("ownerName").asText());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/products answers If-None-Match with 304 until the catalog changes")
+    void listEtagRevalidation() throws Exception {
+        seedProducts(3);
+        String etag = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/products").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        String token = getJwtForUser("etag@example.com", "Password123!", null);
+        mockMvc.perform(post("/api/products")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Fresh\",\"description\":\"New\",\"price\":3}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/products").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$", hasSize(4)));
+    }
+
+    @Test
+    @DisplayName("GET /api/products without paging parameters is capped and marked deprecated")
+    void unpagedListIsCapped() throws Exception {
+        seedProducts(8);
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[*].name", contains("Paged 0", "Paged 1", "Paged 2", "Paged 3", "Paged 4")))
+                .andExpect(header().string("Deprecation", "true"))
+                .andExpect(header().string("Link", allOf(containsString("</api/products?size=20>"),
+                        containsString("</api/products/export>"))));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} returns a strong ETag and 304 on match")
+    void productEtagRevalidation() throws Exception {
+        seedProducts(1);
+        String id = productRepository.findAll().get(0).getId();
+        String etag = mockMvc.perform(get("/api/products/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/products/" + id).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("DELETE /web/admin/users/{id}?async=true returns 202 and purges products in the background")
+    void asyncUserDeletePurgesProducts() throws Exception {
+        String userResp = mockMvc.perform(post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Seller\",\"email\":\"seller@example.com\",\"password\":\"Password123!\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String userId = new ObjectMapper().readTree(userResp).get("id").asText();
+        seedProducts(5);
+
+        mockMvc.perform(delete("/web/admin/users/" + userId).param("async", "true")
+                .with(user("admin@example.com").roles("ADMIN")).with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.userId", is(userId)));
+
+        String state = "RUNNING";
+        for (int i = 0; i < 50 && state.equals("RUNNING"); i++) {
+            Thread.sleep(100);
+            String body = mockMvc.perform(get("/web/admin/users/" + userId + "/purge")
+                    .with(user("admin@example.com").roles("ADMIN")))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            state = new ObjectMapper().readTree(body).get("state").asText();
+        }
+        assertEquals("COMPLETED", state);
+        assertEquals(0, productRepository.findByUserId("seller@example.com").size());
+        assertTrue(userRepository.findById(userId).isEmpty());
+        // The status is stored in Mongo, not in this instance's memory
+        assertEquals("COMPLETED", productPurgeRepository.findById(userId).orElseThrow().getState());
+    }
+
+    @Test
+    @DisplayName("A background purge also deletes products created between prepare and the account deletion")
+    void purgeCoversProductsCreatedBeforeDeletion() throws Exception {
+        seedProducts(3);
+        ProductPurge purge = productPurgeService.prepare("old-user-id", "seller@example.com");
+
+        // Created with a still-valid token while the account is being deleted
+        Product late = new Product();
+        late.setName("Late");
+        late.setPrice(1);
+        late.setUserId("seller@example.com");
+        productRepository.save(late);
+
+        productPurgeService.start(purge);
+        awaitPurge("old-user-id");
+        assertEquals(4, productPurgeService.status("old-user-id").deletedProducts());
+        assertTrue(productRepository.findByUserId("seller@example.com").isEmpty());
+        assertNotNull(productPurgeRepository.findById("old-user-id").orElseThrow().getExpiresAt());
+    }
+
+    @Test
+    @DisplayName("A failed purge is retried at startup and spares products of an account registered again with the email")
+    void failedPurgeIsRetriedAndSparesReRegisteredEmail() throws Exception {
+        seedProducts(3);
+        ProductPurge purge = productPurgeService.prepare("old-user-id", "seller@example.com");
+        purge.setBoundaryId(new ObjectId());
+        purge.setState(ProductPurgeService.FAILED);
+        productPurgeRepository.save(purge);
+
+        // Same email registered again after the account was deleted
+        Product newer = new Product();
+        newer.setName("Newer");
+        newer.setPrice(1);
+        newer.setUserId("seller@example.com");
+        productRepository.save(newer);
+
+        productPurgeService.resumeInterrupted();
+        awaitPurge("old-user-id");
+        assertEquals(3, productPurgeService.status("old-user-id").deletedProducts());
+        assertEquals(List.of("Newer"), productRepository.findByUserId("seller@example.com").stream()
+                .map(Product::getName).toList());
+    }
+
+    private void awaitPurge(String userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!ProductPurgeService.COMPLETED.equals(productPurgeService.status(userId).state())) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Purge did not complete");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private void saveProduct(String name, String description) {
+        Product p = new Product();
+        p.setName(name);
+        p.setDescription(description);
+        p.setPrice(10);
+        p.setUserId("seller@example.com");
+        productRepository.save(p);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search ranks name matches above description matches and pages")
+    void searchRanksAndPaginates() throws Exception {
+        saveProduct("Red lamp", "A desk light");
+        saveProduct("Wooden desk", "Fits any lamp");
+        saveProduct("Blue chair", "Comfortable");
+        for (int i = 0; i < 3; i++) {
+            saveProduct("Lamp shade " + i, "Fabric");
+        }
+
+        mockMvc.perform(get("/api/products/search").param("q", "chair"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name", is("Blue chair")))
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        // 5 hits: the 4 names containing "lamp" rank above the description-only match
+        mockMvc.perform(get("/api/products/search").param("q", "lamp").param("size", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(4)))
+                .andExpect(jsonPath("$.items[*].name", everyItem(containsStringIgnoringCase("lamp"))))
+                .andExpect(jsonPath("$.next", is(1)));
+        mockMvc.perform(get("/api/products/search").param("q", "lamp").param("size", "4").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name", is("Wooden desk")))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search rejects a blank query and pages past the hit cap")
+    void searchRejectsInvalidRequests() throws Exception {
+        mockMvc.perform(get("/api/products/search"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/search").param("q", "  "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/search").param("q", "lamp").param("page", "100").param("size", "100"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/products/batch applies creates and updates in one request with per-item results")
+    void batchReportsPerItemResults() throws Exception {
+        String tokenOwner = getJwtForUser("batchowner@example.com", "Password123!", null);
+        String tokenOther = getJwtForUser("batchother@example.com", "Password123!", null);
+        String mine = createProduct(tokenOwner, "Mine", 10);
+        String theirs = createProduct(tokenOther, "Theirs", 20);
+
+        String body = "{\"operations\":[" +
+                "{\"name\":\"New one\",\"price\":1}," +
+                "{\"id\":\"" + mine + "\",\"name\":\"Mine renamed\",\"price\":11}," +
+                "{\"id\":\"" + theirs + "\",\"name\":\"Stolen\",\"price\":0}," +
+                "{\"id\":\"000000000000000000000000\",\"name\":\"Ghost\",\"price\":1}," +
+                "{\"name\":\"\",\"price\":-1}" +
+                "]}";
+        String response = mockMvc.perform(post("/api/products/batch")
+                        .header("Authorization", "Bearer " + tokenOwner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.failed", is(3)))
+                .andExpect(jsonPath("$.results[*].status", contains(201, 200, 403, 404, 400)))
+                .andReturn().getResponse().getContentAsString();
+
+        String createdId = new ObjectMapper().readTree(response).get("results").get(0).get("id").asText();
+        Product created = productRepository.findById(createdId).orElseThrow();
+        assertEquals("batchowner@example.com", created.getUserId());
+        assertEquals("Mine renamed", productRepository.findById(mine).orElseThrow().getName());
+        assertEquals("Theirs", productRepository.findById(theirs).orElseThrow().getName());
+        mockMvc.perform(get("/api/products/" + mine))
+                .andExpect(jsonPath("$.name", is("Mine renamed")));
+    }
+
+    @Test
+    @DisplayName("POST /api/products/batch requires a token and rejects empty batches")
+    void batchRejectsInvalidRequests() throws Exception {
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"name\":\"x\",\"price\":1}]}"))
+                .andExpect(status().isUnauthorized());
+        String token = getJwtForUser("batchempty@example.com", "Password123!", null);
+        mockMvc.perform(post("/api/products/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[]}"))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, productRepository.count());
+    }
+
+    private String createProduct(String token, String name, double price) throws Exception {
+        String json = mockMvc.perform(post("/api/products")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"price\":" + price + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return new ObjectMapper().readTree(json).get("id").asText();
+    }
 }
@@ -0,0 +1,107 @@
+package com.Zone01.lets_play;
+
+import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.models.Product;
+import com.Zone01.lets_play.service.ProductCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "spring.data.mongodb.database=test_database",
+    "spring.application.rate-limiting.enabled=false",
+    // Every command counts as slow, so the listing below is sure to be recorded
+    "spring.application.slow-query.threshold=0ms",
+    "spring.application.slow-query.top-n=5"
+})
+public class SlowQueryLogTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        productRepository.deleteAll();
+        productCache.invalidateAll();
+        mockMvc.perform(delete("/web/admin/slow-queries").with(user("admin").roles("ADMIN")).with(csrf()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("GET /web/admin/slow-queries lists the slowest query shapes without their values")
+    void recordsQueryShapes() throws Exception {
+        Product p = new Product();
+        p.setName("Shaped");
+        p.setPrice(12);
+        p.setUserId("shape-owner@example.com");
+        productRepository.save(p);
+
+        mockMvc.perform(get("/api/products").param("owner", "shape-owner@example.com").param("minPrice", "10"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/web/admin/slow-queries").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.thresholdMillis", is(0)))
+                .andExpect(jsonPath("$.slowestShapes", hasSize(lessThanOrEqualTo(5))))
+                .andExpect(jsonPath("$.slowestShapes[*].shape", hasItem(allOf(
+                        startsWith("find products {filter: "),
+                        containsString("userId: ?"),
+                        not(containsString("shape-owner@example.com"))))))
+                .andExpect(jsonPath("$.commands[?(@.command == 'find' && @.collection == 'products')].count",
+                        contains(greaterThanOrEqualTo(1))));
+    }
+
+    @Test
+    @DisplayName("getMore is recorded against the collection of its cursor")
+    void getMoreNamesItsCollection() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Product p = new Product();
+            p.setName("Batched " + i);
+            p.setPrice(i);
+            productRepository.save(p);
+        }
+        try (Stream<Product> stream = mongoTemplate.stream(new Query().cursorBatchSize(2), Product.class)) {
+            stream.forEach(p -> { });
+        }
+
+        mockMvc.perform(get("/web/admin/slow-queries").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commands[?(@.command == 'getMore')].collection", everyItem(is("products"))))
+                .andExpect(jsonPath("$.commands[?(@.command == 'getMore' && @.collection == 'products')].count",
+                        contains(greaterThanOrEqualTo(2))));
+    }
+
+    @Test
+    @DisplayName("GET /web/admin/slow-queries is admin-only")
+    void adminOnly() throws Exception {
+        mockMvc.perform(get("/web/admin/slow-queries").with(user("someone").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+}
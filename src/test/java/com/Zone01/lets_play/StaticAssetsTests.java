@@ -0,0 +1,70 @@
+package com.Zone01.lets_play;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "spring.data.mongodb.database=test_database",
+    "spring.application.rate-limiting.enabled=false"
+})
+public class StaticAssetsTests {
+
+    private static final Pattern SCRIPT = Pattern.compile("src=\"(/js/products-[0-9a-f]{32}\\.js)\"");
+    private static final Pattern STYLESHEET = Pattern.compile("href=\"(/index-[0-9a-f]{32}\\.css)\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Pages link content-hashed assets, served as immutable without session or security headers")
+    void fingerprintedAssetsAreImmutable() throws Exception {
+        String html = mockMvc.perform(get("/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        for (Pattern asset : new Pattern[]{SCRIPT, STYLESHEET}) {
+            Matcher m = asset.matcher(html);
+            assertTrue(m.find(), "no fingerprinted link matching " + asset);
+            mockMvc.perform(get(m.group(1)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", allOf(containsString("max-age=31536000"),
+                            containsString("public"), containsString("immutable"))))
+                    .andExpect(header().doesNotExist("Set-Cookie"))
+                    .andExpect(header().doesNotExist("X-Frame-Options"));
+        }
+    }
+
+    @Test
+    @DisplayName("The stylesheet is public, also for visitors who are not logged in")
+    void stylesheetNeedsNoLogin() throws Exception {
+        mockMvc.perform(get("/index.css"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/css"));
+    }
+
+    @Test
+    @DisplayName("Assets requested by their plain, unversioned names are revalidated, never cached as immutable")
+    void unversionedAssetsAreNoCache() throws Exception {
+        for (String path : new String[]{"/index.css", "/js/products.js"}) {
+            mockMvc.perform(get(path))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "no-cache"))
+                    .andExpect(header().exists("Last-Modified"));
+        }
+    }
+}
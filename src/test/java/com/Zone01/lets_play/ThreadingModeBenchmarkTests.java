@@ -0,0 +1,181 @@
+package com.Zone01.lets_play;
+
+import com.Zone01.lets_play.Mongo_repisitory.ProductRepository;
+import com.Zone01.lets_play.Mongo_repisitory.UserRepository;
+import com.Zone01.lets_play.models.Product;
+import com.Zone01.lets_play.models.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares request throughput and latency of the platform-thread and virtual-thread modes
+ * under the same concurrent, Mongo-bound workload (product reads with the near-cache off).
+ * Excluded from the normal build; run with {@code mvn test -Pbenchmark}. Tunable with
+ * -Dbenchmark.concurrency, -Dbenchmark.warmup-seconds, -Dbenchmark.seconds and
+ * -Dbenchmark.tomcat-threads.
+ */
+@Tag("benchmark")
+public class ThreadingModeBenchmarkTests {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int WARMUP_SECONDS = Integer.getInteger("benchmark.warmup-seconds", 5);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 15);
+    // Kept below the concurrency so the platform pool is the bottleneck, as in production
+    private static final int TOMCAT_THREADS = Integer.getInteger("benchmark.tomcat-threads", 100);
+    private static final int PRODUCTS = 2000;
+
+    private record Result(String mode, long requests, long errors, double seconds, long[] latenciesMicros) {
+        double throughput() {
+            return requests / seconds;
+        }
+
+        double percentileMillis(double p) {
+            if (latenciesMicros.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * latenciesMicros.length) - 1;
+            return latenciesMicros[Math.max(0, index)] / 1000.0;
+        }
+    }
+
+    @Test
+    @DisplayName("Platform vs virtual threads: throughput and p99 under concurrency")
+    void compareThreadingModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%-10s %12s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result r : List.of(platform, virtual)) {
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f %8d%n", r.mode(), r.throughput(),
+                    r.percentileMillis(50), r.percentileMillis(99), r.percentileMillis(100), r.errors());
+        }
+        System.out.printf("concurrency=%d, tomcat threads=%d, %ds per mode%n%n", CONCURRENCY, TOMCAT_THREADS, SECONDS);
+
+        assertTrue(platform.requests() > 0 && virtual.requests() > 0);
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LetsPlayApplication.class)
+                .properties(
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.data.mongodb.database=benchmark_database",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        // Every read goes to Mongo, which is what the two modes differ on
+                        "spring.application.product-cache.max-size=0",
+                        "spring.application.user-cache.max-size=0")
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            List<String> ids = seed(context);
+            String base = "http://localhost:" + port;
+
+            load(base, ids, WARMUP_SECONDS);
+            Result result = load(base, ids, SECONDS);
+            return new Result(virtualThreads ? "virtual" : "platform",
+                    result.requests(), result.errors(), result.seconds(), result.latenciesMicros());
+        }
+    }
+
+    private List<String> seed(ConfigurableApplicationContext context) {
+        ProductRepository products = context.getBean(ProductRepository.class);
+        UserRepository users = context.getBean(UserRepository.class);
+        products.deleteAll();
+        users.deleteAll();
+
+        User owner = new User();
+        owner.setName("Benchmark Owner");
+        owner.setEmail("bench@example.com");
+        owner.setPassword("irrelevant");
+        owner.setRole("USER");
+        users.save(owner);
+
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product p = new Product();
+            p.setName("Product " + i);
+            p.setDescription("Benchmark product " + i);
+            p.setPrice(1 + i % 500);
+            p.setUserId(owner.getEmail());
+            batch.add(p);
+        }
+        return products.saveAll(batch).stream().map(Product::getId).toList();
+    }
+
+    // Closed loop: CONCURRENCY clients, each sending its next request as soon as the last one returns.
+    // 80% single product reads, 20% first listing pages.
+    private Result load(String base, List<String> ids, int seconds) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long start = System.nanoTime();
+
+        List<Future<long[]>> workers = new ArrayList<>();
+        long[] errors = new long[CONCURRENCY];
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < CONCURRENCY; w++) {
+                int worker = w;
+                workers.add(clients.submit(() -> {
+                    long[] samples = new long[1024];
+                    int n = 0;
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String path = random.nextInt(10) < 8
+                                ? "/api/products/" + ids.get(random.nextInt(ids.size()))
+                                : "/api/products?size=20";
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + path)).GET().build();
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors[worker]++;
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors[worker]++;
+                            continue;
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, n * 2);
+                        }
+                        samples[n++] = (System.nanoTime() - t0) / 1000;
+                    }
+                    return Arrays.copyOf(samples, n);
+                }));
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long[] all = workers.stream().map(ThreadingModeBenchmarkTests::samples).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result("", all.length, Arrays.stream(errors).sum(), elapsed, all);
+    }
+
+    private static long[] samples(Future<long[]> worker) {
+        try {
+            return worker.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.Zone01.lets_play.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Same package as the interceptor: idle expiry is driven by a fake ticker instead of waiting minutes
+public class RateLimitingInterceptorTests {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    @DisplayName("An idle client's bucket is dropped after the idle timeout")
+    void idleBucketIsDropped() throws Exception {
+        RateLimitingInterceptor limiter = new RateLimitingInterceptor(100, Duration.ofMinutes(10), nanos::get);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(request(limiter, "10.0.0.1"));
+        }
+        assertEquals(15, limiter.resolveBucket("10.0.0.1").getAvailableTokens());
+
+        advance(Duration.ofMinutes(10).plusSeconds(1));
+
+        assertEquals(0, limiter.liveBuckets());
+        assertEquals(20, limiter.resolveBucket("10.0.0.1").getAvailableTokens());
+    }
+
+    @Test
+    @DisplayName("The bucket map never holds more than max-clients buckets")
+    void bucketCountIsCapped() throws Exception {
+        RateLimitingInterceptor limiter = new RateLimitingInterceptor(50, Duration.ofMinutes(10), nanos::get);
+        for (int i = 0; i < 1_000; i++) {
+            request(limiter, "10.0." + (i / 256) + "." + (i % 256));
+            if (i % 100 == 0) {
+                assertTrue(limiter.liveBuckets() <= 50, "holds " + limiter.liveBuckets() + " buckets");
+            }
+        }
+        assertTrue(limiter.liveBuckets() <= 50, "holds " + limiter.liveBuckets() + " buckets");
+    }
+
+    @Test
+    @DisplayName("An active client keeps its remaining tokens and is still refused once they are spent")
+    void activeClientKeepsItsBucket() throws Exception {
+        RateLimitingInterceptor limiter = new RateLimitingInterceptor(100, Duration.ofMinutes(10), nanos::get);
+        for (int i = 0; i < 15; i++) {
+            assertTrue(request(limiter, "10.0.0.1"));
+        }
+        // Requests every 5 minutes keep the bucket alive past the 10-minute idle timeout
+        for (int i = 0; i < 5; i++) {
+            advance(Duration.ofMinutes(5));
+            assertTrue(request(limiter, "10.0.0.1"));
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(limiter.preHandle(requestFrom("10.0.0.1"), response, new Object()));
+        assertEquals(429, response.getStatus());
+        assertEquals(1, limiter.rejectedCount());
+    }
+
+    private boolean request(RateLimitingInterceptor limiter, String address) throws Exception {
+        return limiter.preHandle(requestFrom(address), new MockHttpServletResponse(), new Object());
+    }
+
+    private static MockHttpServletRequest requestFrom(String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(address);
+        return request;
+    }
+
+    private void advance(Duration by) {
+        nanos.addAndGet(by.toNanos());
+    }
+}